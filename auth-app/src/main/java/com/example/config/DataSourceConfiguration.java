@@ -0,0 +1,70 @@
+package com.example.config;
+
+import com.example.utils.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only transactions read from the replicas of {@link ReplicaProperties}, everything else from the
+ * primary of {@code spring.datasource}. The connection is chosen when a transaction runs its first
+ * statement, by which time it is known to be read-only, so a transaction never moves between servers.
+ * Code that must see its own recent writes runs in a read-write transaction, which stays on the primary.
+ */
+@Configuration
+@EnableConfigurationProperties(ReplicaProperties.class)
+@Slf4j
+public class DataSourceConfiguration {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    /**
+     * Replica pools take the settings of the primary pool, with their own URL and, when given, credentials.
+     */
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource,
+                                               ReplicaProperties properties,
+                                               MeterRegistry meterRegistry) {
+        List<ReplicaProperties.Node> nodes = properties.nodes() == null ? List.of() : properties.nodes();
+        List<DataSource> replicas = new ArrayList<>();
+        for (ReplicaProperties.Node node : nodes) {
+            HikariDataSource replica = new HikariDataSource();
+            primaryDataSource.copyStateTo(replica);
+            replica.setJdbcUrl(node.url());
+            if (node.username() != null) {
+                replica.setUsername(node.username());
+                replica.setPassword(node.password());
+            }
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        log.info("Routing read-only transactions to {} replicas", replicas.size());
+        String lagQuery = properties.lagQuery() != null ? properties.lagQuery() : ReplicaDataSource.POSTGRES_LAG_QUERY;
+        return new ReplicaDataSource(primaryDataSource, replicas, lagQuery, properties.maxLag(),
+                properties.checkInterval(), meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
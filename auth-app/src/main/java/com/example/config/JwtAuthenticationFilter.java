@@ -1,8 +1,9 @@
 package com.example.config;
 
-import com.example.utils.JwtTokenUtils;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.SignatureException;
+import com.example.service.TokenRevocationService;
+import com.example.utils.VerifiedClaims;
+import com.example.verifier.TokenVerificationException;
+import com.example.verifier.TokenVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,47 +12,47 @@ import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.stream.Collectors;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtTokenUtils jwtTokenUtils;
+    private final TokenVerifier<VerifiedClaims> accessTokenVerifier;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
         String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String jwt = null;
+        VerifiedClaims claims = null;
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            jwt = authHeader.substring(7);
+            String jwt = authHeader.substring(7);
             try {
-                username = jwtTokenUtils.getUsername(jwt);
-            } catch (ExpiredJwtException e) {
-                log.debug("The token has expired");
-            } catch (SignatureException e) {
-                log.debug("The signature is incorrect");
+                claims = accessTokenVerifier.verify(jwt);
+            } catch (TokenVerificationException e) {
+                log.debug("The token is not valid ({}): {}", e.getReason(), e.getMessage());
+            } catch (IllegalArgumentException e) {
+                log.debug("The token is malformed: {}", e.getMessage());
+            }
+            if (claims != null && tokenRevocationService.isRevoked(claims.tokenId())) {
+                log.debug("The token has been revoked");
+                claims = null;
             }
         }
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (claims != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
-                    username,
+                    claims.username(),
                     null,
-                    jwtTokenUtils.getRoles(jwt)
-                            .stream()
-                            .map(SimpleGrantedAuthority::new)
-                            .collect(Collectors.toList())
+                    claims.authorities()
             );
+            token.setDetails(claims);
             SecurityContextHolder.getContext().setAuthentication(token);
         }
         filterChain.doFilter(request, response);
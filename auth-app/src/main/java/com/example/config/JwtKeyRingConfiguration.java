@@ -0,0 +1,48 @@
+package com.example.config;
+
+import com.example.utils.JwtKeyRing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(JwtSigningProperties.class)
+@Slf4j
+public class JwtKeyRingConfiguration {
+
+    @Bean
+    public JwtKeyRing jwtKeyRing(JwtSigningProperties properties) {
+        if (properties.algorithm() != JwtSigningProperties.Algorithm.ES256) {
+            return JwtKeyRing.empty();
+        }
+        List<JwtSigningProperties.Key> keys = properties.keys() == null ? List.of() : properties.keys();
+        if (keys.isEmpty()) {
+            // a key generated per node would make tokens verify only on the node that minted them
+            throw new IllegalStateException("ES256 signing needs jwt.signing.keys, none are configured");
+        }
+
+        Map<String, ECPublicKey> publicKeys = new LinkedHashMap<>();
+        PrivateKey activeKey = null;
+        for (JwtSigningProperties.Key key : keys) {
+            publicKeys.put(key.id(), JwtKeyRing.parsePublicKey(key.publicKey()));
+            if (key.id().equals(properties.activeKeyId())) {
+                if (key.privateKey() == null) {
+                    throw new IllegalStateException("Active signing key " + key.id() + " has no private key");
+                }
+                activeKey = JwtKeyRing.parsePrivateKey(key.privateKey());
+            }
+        }
+        if (activeKey == null) {
+            throw new IllegalStateException("Active signing key " + properties.activeKeyId() + " is not configured");
+        }
+        log.info("Signing access tokens with ES256 key {}, publishing keys {}", properties.activeKeyId(), publicKeys.keySet());
+        return JwtKeyRing.of(properties.activeKeyId(), activeKey, publicKeys);
+    }
+}
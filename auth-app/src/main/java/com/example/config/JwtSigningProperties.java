@@ -0,0 +1,30 @@
+package com.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * How access tokens are signed, bound from {@code jwt.signing}.
+ *
+ * @param algorithm   {@code HS256} signs with {@code jwt.secret}, {@code ES256} with the active key of {@code keys}
+ * @param activeKeyId id of the key that signs new tokens; the other keys are only published for verification
+ * @param keys        key ring, each key with a Base64 X.509 public key and, for the active key, a PKCS#8 private key
+ */
+@ConfigurationProperties(prefix = "jwt.signing")
+public record JwtSigningProperties(
+        Algorithm algorithm,
+        String activeKeyId,
+        List<Key> keys) {
+
+    public enum Algorithm {
+        HS256, ES256
+    }
+
+    public record Key(
+            String id,
+            String publicKey,
+            String privateKey) {
+
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.config;
+
+import com.example.utils.BoundedPasswordEncoder;
+import com.example.utils.PasswordHashCalibrator;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+
+@Configuration
+@Slf4j
+public class PasswordEncoderConfiguration {
+
+    private static final String BCRYPT = "bcrypt";
+    private static final String ARGON2 = "argon2";
+
+    /**
+     * Hashing runs on its own CPU-sized pool so login and signup bursts cannot occupy every request thread.
+     * A thread count of 0 uses one thread per available processor.
+     */
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${password.hashing.threads}") int threads,
+                                           @Value("${password.hashing.queue-capacity}") int queueCapacity,
+                                           @Value("${password.hashing.retry-after}") Duration retryAfter,
+                                           @Value("${password.hashing.algorithm}") String algorithm,
+                                           @Value("${password.hashing.target-latency}") Duration targetLatency,
+                                           @Value("${password.hashing.bcrypt.min-strength}") int bcryptMinStrength,
+                                           @Value("${password.hashing.argon2.memory}") int argon2Memory,
+                                           @Value("${password.hashing.argon2.parallelism}") int argon2Parallelism,
+                                           @Value("${password.hashing.argon2.min-iterations}") int argon2MinIterations) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        PasswordEncoder calibrated = calibratedPasswordEncoder(algorithm, targetLatency,
+                bcryptMinStrength, argon2Memory, argon2Parallelism, argon2MinIterations);
+        return new BoundedPasswordEncoder(calibrated, poolSize, queueCapacity, retryAfter, meterRegistry);
+    }
+
+    /**
+     * New hashes use the configured algorithm with a work factor timed on this node to take about
+     * {@code targetLatency}. Hashes of the other algorithm, with a lower work factor, or stored without an
+     * {@code {id}} prefix before this encoder was introduced still match and are reported as needing an
+     * upgrade, so they are rehashed on the next successful login.
+     */
+    private static PasswordEncoder calibratedPasswordEncoder(String algorithm, Duration targetLatency,
+                                                             int bcryptMinStrength, int argon2Memory,
+                                                             int argon2Parallelism, int argon2MinIterations) {
+        PasswordEncoder bcrypt;
+        PasswordEncoder argon2;
+        switch (algorithm) {
+            case BCRYPT -> {
+                int strength = PasswordHashCalibrator.bcryptStrength(targetLatency, bcryptMinStrength);
+                log.info("Hashing passwords with BCrypt strength {} for a target of {} ms", strength, targetLatency.toMillis());
+                bcrypt = new BCryptPasswordEncoder(strength);
+                argon2 = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+            }
+            case ARGON2 -> {
+                int iterations = PasswordHashCalibrator.argon2Iterations(targetLatency, argon2Memory, argon2Parallelism, argon2MinIterations);
+                log.info("Hashing passwords with Argon2id, {} KiB and {} iterations for a target of {} ms",
+                        argon2Memory, iterations, targetLatency.toMillis());
+                bcrypt = new BCryptPasswordEncoder();
+                argon2 = new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2Memory, iterations);
+            }
+            default -> throw new IllegalArgumentException("Unsupported password hashing algorithm: " + algorithm);
+        }
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, Map.of(BCRYPT, bcrypt, ARGON2, argon2));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replicas for read-only transactions, bound from {@code datasource.replicas}.
+ *
+ * @param nodes         replicas, each with a JDBC URL and, when they differ from {@code spring.datasource},
+ *                      a username and password; none sends every transaction to the primary
+ * @param maxLag        replicas further behind the primary than this are not read from
+ * @param checkInterval how often the lag of each replica is checked
+ * @param lagQuery      query returning the lag of a replica in seconds, by default
+ *                      {@link com.example.utils.ReplicaDataSource#POSTGRES_LAG_QUERY}
+ */
+@ConfigurationProperties(prefix = "datasource.replicas")
+public record ReplicaProperties(
+        List<Node> nodes,
+        Duration maxLag,
+        Duration checkInterval,
+        String lagQuery) {
+
+    public record Node(
+            String url,
+            String username,
+            String password) {
+
+    }
+}
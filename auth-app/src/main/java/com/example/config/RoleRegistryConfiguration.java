@@ -0,0 +1,15 @@
+package com.example.config;
+
+import com.example.repository.RoleRepository;
+import com.example.utils.RoleRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RoleRegistryConfiguration {
+
+    @Bean
+    public RoleRegistry roleRegistry(RoleRepository roleRepository) {
+        return RoleRegistry.of(roleRepository.findAll());
+    }
+}
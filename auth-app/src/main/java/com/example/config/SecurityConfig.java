@@ -52,6 +52,7 @@ public class SecurityConfig {
                         .requestMatchers("/solana/wallet/*").permitAll()
                         .requestMatchers("/api/auth/*").authenticated()
                         .requestMatchers("/api/user/all").hasRole("ADMIN")
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
                         .anyRequest().permitAll())
                 .sessionManagement((sessionManagement) -> sessionManagement.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .exceptionHandling((exceptionHandling) -> exceptionHandling.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
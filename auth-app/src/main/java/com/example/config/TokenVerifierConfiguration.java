@@ -0,0 +1,29 @@
+package com.example.config;
+
+import com.example.utils.CaffeineClaimsCache;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.RoleRegistry;
+import com.example.utils.VerifiedClaims;
+import com.example.verifier.TokenVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Access tokens presented to this app are verified by the same auth-verifier other services embed,
+ * with the keys of {@link JwtTokenUtils} and a Caffeine cache of the resulting {@link VerifiedClaims}.
+ */
+@Configuration
+public class TokenVerifierConfiguration {
+
+    @Bean
+    public TokenVerifier<VerifiedClaims> accessTokenVerifier(JwtTokenUtils jwtTokenUtils,
+                                                             RoleRegistry roleRegistry,
+                                                             MeterRegistry meterRegistry,
+                                                             @Value("${jwt.cache.max-size}") long maxSize) {
+        return TokenVerifier.builder(jwtTokenUtils.getAccessKeySource())
+                .build(token -> VerifiedClaims.from(jwtTokenUtils.checkSigningCutoff(token), roleRegistry),
+                        new CaffeineClaimsCache<>(maxSize, meterRegistry, "jwt.claims"));
+    }
+}
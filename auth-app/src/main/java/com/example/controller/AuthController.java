@@ -0,0 +1,238 @@
+package com.example.controller;
+
+import com.example.exceptions.ErrorResponse;
+import com.example.payload.request.ChangePasswordRequest;
+import com.example.payload.request.IntrospectRequest;
+import com.example.exceptions.InvalidPasswordException;
+import com.example.exceptions.InvalidTokenException;
+import com.example.payload.request.LoginRequest;
+import com.example.payload.request.LogoutRequest;
+import com.example.payload.request.RefreshTokenRequest;
+import com.example.payload.request.RevokeTokenRequest;
+import com.example.payload.request.SignupRequest;
+import com.example.payload.response.IntrospectResponse;
+import com.example.payload.response.LoginResponse;
+import com.example.service.AuthService;
+import com.example.service.EmailService;
+import com.example.service.LoginThrottleService;
+import com.example.service.TokenIntrospectionService;
+import com.example.utils.VerifiedClaims;
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.info.Info;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/auth")
+@Slf4j
+@OpenAPIDefinition(
+        info = @Info(
+                title = "Authentication controller.",
+                version = "1.0",
+                description = "Controller that allow user to signup, login, logout, confirm email, change password."
+        )
+)
+public class AuthController {
+
+    private final AuthService authService;
+    private final EmailService emailService;
+    private final TokenIntrospectionService tokenIntrospectionService;
+    private final LoginThrottleService loginThrottleService;
+
+    @PostMapping("/signup")
+    @Operation(summary = "Signup.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "User is created but email is not confirmed. User should check him email to confirm it.", content = { @Content(mediaType = "text/plain",
+                    schema = @Schema(implementation = String.class))}),
+            @ApiResponse(responseCode = "208", description = "User is already exists.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest requestDto) {
+        var response = authService.signup(requestDto);
+        log.debug("New user signed up: {}", requestDto.email());
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/login")
+    @Operation(summary = "Login.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "User is authenticated.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = LoginResponse.class))}),
+            @ApiResponse(responseCode = "404", description = "User is not found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))}),
+            @ApiResponse(responseCode = "403", description = "Your email is not confirmed.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))}),
+            @ApiResponse(responseCode = "403", description = "Bad credentials.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))}),
+            @ApiResponse(responseCode = "429", description = "Too many failed attempts for this email or client.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        // The client's own address behind trusted proxies, see server.forward-headers-strategy
+        String clientIp = httpRequest.getRemoteAddr();
+        // Checked outside the login transaction so throttled attempts never touch the database
+        loginThrottleService.checkAllowed(request.email(), clientIp);
+        LoginResponse response;
+        try {
+            response = authService.login(request);
+        } catch (InvalidPasswordException e) {
+            loginThrottleService.recordFailure(request.email(), clientIp);
+            throw e;
+        }
+        loginThrottleService.recordSuccess(request.email());
+        log.debug("User logged in: {}", request.email());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh tokens.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "New token pair is issued, the old refresh token is no longer valid.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = LoginResponse.class))}),
+            @ApiResponse(responseCode = "401", description = "Refresh token is not valid.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<LoginResponse> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        LoginResponse response = authService.refresh(request);
+        log.debug("Tokens refreshed for user: {}", response.email());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Logout.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Access token is revoked, so is the refresh token family when a refresh token is given.", content = { @Content(mediaType = "text/plain")}),
+            @ApiResponse(responseCode = "401", description = "Refresh token is not valid.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<?> logout(Authentication authentication, @RequestBody(required = false) LogoutRequest request) {
+        if (!(authentication.getDetails() instanceof VerifiedClaims claims)) {
+            throw new InvalidTokenException("Only token sessions can be logged out.");
+        }
+        authService.logout(claims, request);
+        log.debug("User logged out: {}", claims.username());
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/revoke")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Revoke an access token.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Token is revoked until it expires.", content = { @Content(mediaType = "text/plain")}),
+            @ApiResponse(responseCode = "401", description = "Token is not valid.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<?> revoke(@Valid @RequestBody RevokeTokenRequest request) {
+        authService.revoke(request);
+        log.debug("Token revoked by an administrator");
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * The gateway calling this endpoint is the client of the response, and {@code private} lets it keep the
+     * answer until {@link TokenIntrospectionService#cacheDuration}. Shared caches in between are kept out:
+     * the token set travels in a POST body they do not key on, behind the caller's own credentials, so a
+     * shared entry could answer one caller with another caller's tokens.
+     * <p>
+     * A request verifies up to 1000 signatures, so only services and admins may call it; a plain user could
+     * otherwise turn one request into that much CPU work.
+     */
+    @PostMapping("/introspect")
+    @PreAuthorize("hasAnyRole('SERVICE', 'ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Introspect access tokens.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Subject, roles, expiry and active status of every token, cacheable by the caller until the first active token expires.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = IntrospectResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "No tokens or too many tokens.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))}),
+            @ApiResponse(responseCode = "403", description = "Caller is neither a service nor an admin.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<IntrospectResponse> introspect(@Valid @RequestBody IntrospectRequest request) {
+        IntrospectResponse response = tokenIntrospectionService.introspect(request.tokens());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(tokenIntrospectionService.cacheDuration(response)).cachePrivate())
+                .body(response);
+    }
+
+    @GetMapping("/resend/email-confirmation/{email}")
+    @Operation(summary = "Request for email confirmation.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Letter is sent.", content = { @Content(mediaType = "text/plain")}),
+            @ApiResponse(responseCode = "404", description = "User is not found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))}),
+            @ApiResponse(responseCode = "404", description = "Token is not found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<?> resendEmailConfirmation(@PathVariable String email) {
+        emailService.resendEmailConfirm(email);
+        log.debug("Email confirmation resent for email: {}", email);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/email-confirm/{token}")
+    @Operation(summary = "Email confirmation.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Thanks for your confirmation.", content = { @Content(mediaType = "text/plain")}),
+            @ApiResponse(responseCode = "401", description = "Token is not valid or has been revoked.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))}),
+            @ApiResponse(responseCode = "500", description = "Oops something went wrong, try again...", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<?> emailConfirmByToken(@PathVariable String token) {
+        emailService.confirmEmailByToken(token);
+        log.debug("Email confirmed by token: {}", token);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/send/reset-password-email/{email}")
+    @Operation(summary = "Request for changing password.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "The letter has been sent.", content = { @Content(mediaType = "text/plain")}),
+            @ApiResponse(responseCode = "404", description = "User is not found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<?> resetPasswordByEmail(@PathVariable String email) {
+        emailService.sendResetPasswordEmail(email);
+        log.debug("Reset password email sent for email: {}", email);
+        return ResponseEntity.ok().build();
+    }
+
+    @PostMapping("/change-password")
+    @Operation(summary = "Change password.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "The password is changed!", content = { @Content(mediaType = "text/plain")}),
+            @ApiResponse(responseCode = "404", description = "User is not found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))}),
+            @ApiResponse(responseCode = "401", description = "Token is not valid or has been revoked.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))}),
+            @ApiResponse(responseCode = "403", description = "Not right token. Try again...", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<?> changePassword(@RequestBody ChangePasswordRequest changePasswordRequest) {
+        authService.changePassword(changePasswordRequest);
+        log.debug("Password changed for user with token: {}", changePasswordRequest.verificationToken());
+        return ResponseEntity.ok().build();
+    }
+    
+}
+
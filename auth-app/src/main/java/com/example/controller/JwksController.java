@@ -0,0 +1,54 @@
+package com.example.controller;
+
+import com.example.utils.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Publishes the access token verification keys so other services verify tokens locally.
+ * The key set only changes on redeploy, so it is cacheable for {@code jwt.jwks.max-age} and
+ * revalidated by ETag afterwards.
+ */
+@RestController
+public class JwksController {
+
+    private final JwtKeyRing keyRing;
+    private final CacheControl cacheControl;
+    private final String eTag;
+
+    public JwksController(JwtKeyRing keyRing, @Value("${jwt.jwks.max-age}") Duration maxAge) {
+        this.keyRing = keyRing;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+        this.eTag = '"' + DigestUtils.md5DigestAsHex(keyRing.jwks().getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    @Operation(summary = "Access token verification keys.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "JWK Set of the ES256 keys, empty when tokens are signed with HS256.", content = { @Content(mediaType = "application/jwk-set+json")}),
+            @ApiResponse(responseCode = "304", description = "Keys did not change.", content = { @Content })
+    })
+    public ResponseEntity<String> jwks(WebRequest request) {
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .contentType(MediaType.parseMediaType("application/jwk-set+json"))
+                .body(keyRing.jwks());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.controller;
+
+import com.example.payload.response.UserImportResponse;
+import com.example.payload.response.UserSliceResponse;
+import com.example.payload.response.UserSummary;
+import com.example.service.UserDetailsServiceImpl;
+import com.example.service.UserExportService;
+import com.example.service.UserImportService;
+import io.swagger.v3.oas.annotations.OpenAPIDefinition;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.info.Info;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.Principal;
+
+@Slf4j
+@RestController
+@Validated
+@RequiredArgsConstructor
+@RequestMapping("/api/user")
+@OpenAPIDefinition(
+        info = @Info(
+                title = "User controller.",
+                version = "1.0",
+                description = "Controller that allow user to see profile and admin to see all users."
+        )
+)
+public class UserController {
+
+    static final int MAX_SLICE_SIZE = 100;
+
+    private final UserDetailsServiceImpl userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
+
+    @GetMapping("/current-user")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get user information.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "User information is found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = UserSummary.class))}),
+            @ApiResponse(responseCode = "404", description = "User is not found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<UserSummary> getCurrentUser(Principal principal) {
+        log.debug("Request for current user details");
+        return ResponseEntity.ok(userService.findSummaryByEmail(principal.getName()));
+    }
+
+
+    @GetMapping("/all")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get all user information by page number, with the total count.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users are found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = UserSummary.class))}),
+            @ApiResponse(responseCode = "404", description = "Users are not found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<Page<UserSummary>> getAllUsers(@RequestParam(defaultValue = "0") int page,
+                                                         @RequestParam(defaultValue = "10") int size) {
+        log.debug("Request for all users");
+        Page<UserSummary> users = userService.findAllUsers(page, size);
+        return ResponseEntity.ok(users);
+    }
+
+    @GetMapping(value = "/all", params = "mode=keyset")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get all user information, one slice after another.",
+            description = "Selected with mode=keyset. Pass the nextCursor of a response as cursor, along with mode=keyset, to get the following slice.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users are found.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = UserSliceResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "Cursor or size is invalid.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<UserSliceResponse> getUsersAfter(@RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "10") @Min(1) @Max(MAX_SLICE_SIZE) int size,
+                                                           @RequestParam(defaultValue = "false") boolean includeTotal) {
+        log.debug("Request for users after cursor");
+        return ResponseEntity.ok(userService.findUsersAfter(cursor, size, includeTotal));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Export all users as NDJSON or CSV.",
+            description = "The response is streamed while the users are read, so it starts before the export is complete.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users are being exported.", content = {
+                    @Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")})
+    })
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam(defaultValue = "NDJSON") UserExportService.Format format) {
+        log.debug("Request for user export as {}", format);
+        StreamingResponseBody body = outputStream -> userExportService.export(format, outputStream);
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(format.fileName()).build().toString())
+                .body(body);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    @PreAuthorize("hasRole('ADMIN')")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Create users from a CSV file.",
+            description = "The header names an email, a password and optionally a role column. Valid rows are created, the others are reported with their line. " +
+                    "Exactly one of sendConfirmation and markVerified must be set: users left unconfirmed cannot log in and are deleted by the unverified user purge.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = UserImportResponse.class))}),
+            @ApiResponse(responseCode = "400", description = "The file has no valid header, or not exactly one of sendConfirmation and markVerified is set.", content = { @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class))})
+    })
+    public ResponseEntity<UserImportResponse> importUsers(InputStream csv,
+                                                          @RequestParam(defaultValue = "false") boolean sendConfirmation,
+                                                          @RequestParam(defaultValue = "false") boolean markVerified) throws IOException {
+        log.debug("Request for user import");
+        return ResponseEntity.ok(userImportService.importUsers(csv, sendConfirmation, markVerified));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Getter @Setter
+@Table(name = "refresh_token_families")
+public class RefreshTokenFamily {
+
+    @Id
+    @Column(name = "id")
+    private UUID id;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "generation")
+    private int generation;
+
+    @Column(name = "revoked")
+    private boolean revoked;
+
+    @Column(name = "expires_at")
+    private Instant expiresAt;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -13,12 +14,17 @@ import java.util.Collection;
 @Table(name = "users")
 public class User {
 
+    /**
+     * Drawn from {@code users_id_seq} 50 at a time, so new users can be inserted in JDBC batches; identity
+     * columns make Hibernate insert each row on its own to read the generated key back.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
-    @Column(name = "email")
+    @Column(name = "email", unique = true)
     private String email;
 
     @Column(name = "password")
@@ -27,7 +33,14 @@ public class User {
     @Column(name = "is_email_verified")
     private boolean isEmailVerified;
 
-    @Column(name = "created_at")
+    /**
+     * Role bitmask maintained by a database trigger on {@code users_roles}, see {@code RoleRegistry}.
+     */
+    @Column(name = "role_mask", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    private int roleMask;
+
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
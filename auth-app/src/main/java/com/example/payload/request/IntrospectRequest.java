@@ -0,0 +1,15 @@
+package com.example.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record IntrospectRequest(
+        @Schema(description = "Access JWT tokens to introspect")
+        @NotEmpty(message = "Tokens cannot be empty")
+        @Size(max = 1000, message = "At most 1000 tokens can be introspected at once")
+        List<String> tokens) {
+
+}
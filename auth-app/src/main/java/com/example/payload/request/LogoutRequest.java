@@ -0,0 +1,9 @@
+package com.example.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record LogoutRequest(
+        @Schema(description = "Refresh JWT token issued with the access token, its whole family is revoked")
+        String refreshToken) {
+
+}
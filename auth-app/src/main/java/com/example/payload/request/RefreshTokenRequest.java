@@ -0,0 +1,11 @@
+package com.example.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequest(
+        @Schema(description = "Refresh JWT token")
+        @NotBlank(message = "Refresh token cannot be blank")
+        String refreshToken) {
+
+}
@@ -0,0 +1,11 @@
+package com.example.payload.request;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+public record RevokeTokenRequest(
+        @Schema(description = "Access JWT token to revoke")
+        @NotBlank(message = "Token cannot be blank")
+        String token) {
+
+}
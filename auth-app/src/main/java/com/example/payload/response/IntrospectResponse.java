@@ -0,0 +1,11 @@
+package com.example.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record IntrospectResponse(
+        @Schema(description = "Introspection result of every requested token, in request order")
+        List<TokenIntrospection> tokens) {
+
+}
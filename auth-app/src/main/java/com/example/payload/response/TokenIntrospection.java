@@ -0,0 +1,22 @@
+package com.example.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TokenIntrospection(
+        @Schema(description = "Whether the token is valid, unexpired and not revoked")
+        boolean active,
+        @Schema(description = "Subject of an active token")
+        String subject,
+        @Schema(description = "Roles of an active token")
+        List<String> roles,
+        @Schema(description = "Expiry of an active token")
+        Instant expiresAt) {
+
+    public static final TokenIntrospection INACTIVE = new TokenIntrospection(false, null, null, null);
+
+}
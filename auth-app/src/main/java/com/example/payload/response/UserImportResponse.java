@@ -0,0 +1,24 @@
+package com.example.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record UserImportResponse(
+        @Schema(description = "Number of users created")
+        long imported,
+        @Schema(description = "Number of rows rejected")
+        long rejected,
+        @Schema(description = "Why each rejected row was rejected")
+        List<RowError> errors) {
+
+    public record RowError(
+            @Schema(description = "Line of the row in the uploaded file, the header being line 1")
+            long line,
+            @Schema(description = "email of the row, when it could be read")
+            String email,
+            @Schema(description = "Reason the row was rejected")
+            String message) {
+
+    }
+}
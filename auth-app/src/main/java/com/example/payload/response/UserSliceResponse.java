@@ -0,0 +1,17 @@
+package com.example.payload.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserSliceResponse(
+        @Schema(description = "Users of this slice, oldest first")
+        List<UserSummary> users,
+        @Schema(description = "Cursor of the next slice, absent on the last one")
+        String nextCursor,
+        @Schema(description = "Total number of users, only when requested with includeTotal")
+        Long total) {
+
+}
@@ -0,0 +1,22 @@
+package com.example.payload.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record UserSummary(
+        @Schema(description = "User id")
+        Long id,
+        @Schema(description = "email")
+        String email,
+        @Schema(description = "Whether the email is confirmed")
+        boolean emailVerified,
+        @Schema(description = "Signup time")
+        LocalDateTime createdAt,
+        @Schema(description = "Last update time")
+        LocalDateTime updatedAt,
+        @Schema(description = "Role names")
+        List<String> roles) {
+
+}
@@ -0,0 +1,28 @@
+package com.example.repository;
+
+import com.example.entity.RefreshTokenFamily;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenFamilyRepository extends CrudRepository<RefreshTokenFamily, UUID> {
+
+    @Modifying
+    @Query(value = "INSERT INTO refresh_token_families (id, user_id, generation, revoked, expires_at) " +
+            "SELECT :id, u.id, 0, false, :expiresAt FROM users u WHERE u.email = :email", nativeQuery = true)
+    int create(UUID id, String email, Instant expiresAt);
+
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.generation = f.generation + 1, f.expiresAt = :expiresAt " +
+            "where f.id = :id and f.generation = :generation and f.revoked = false and f.expiresAt > :now")
+    int rotate(UUID id, int generation, Instant expiresAt, Instant now);
+
+    @Modifying
+    @Query("update RefreshTokenFamily f set f.revoked = true where f.id = :id")
+    int revoke(UUID id);
+}
@@ -0,0 +1,100 @@
+package com.example.repository;
+
+import com.example.entity.User;
+import com.example.utils.UserCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UserRepository extends CrudRepository<User, Long> {
+
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Loads the user and its roles in one statement, for authentication when the role mask cannot be used.
+     */
+    @Query("select u from User u left join fetch u.roles where u.email = :email")
+    Optional<User> findWithRolesByEmail(String email);
+
+    /**
+     * Inserts a user and assigns it {@code role} in a single statement. A concurrent or earlier signup of the
+     * same email makes both inserts no-ops instead of failing on the unique constraint.
+     *
+     * @return the number of role assignments written, {@code 0} when the email is already taken
+     */
+    @Modifying
+    @Query(value = "WITH inserted AS (" +
+            "INSERT INTO users (id, email, password, is_email_verified, created_at) " +
+            "VALUES (nextval('users_id_seq'), :email, :password, false, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (email) DO NOTHING RETURNING id) " +
+            "INSERT INTO users_roles (user_id, role_id) " +
+            "SELECT inserted.id, roles.id FROM inserted JOIN roles ON roles.name = :role", nativeQuery = true)
+    int insertIfAbsent(String email, String password, String role);
+
+    boolean existsByEmail(String email);
+
+    /**
+     * Marks the email verified in one statement. An email that is already verified is left untouched, so
+     * confirming it again writes nothing. Bulk updates skip entity callbacks, so {@code updated_at} is set here,
+     * and bypass the persistence context, which is cleared so it holds no stale copy of the user.
+     *
+     * @return {@code 1} when this call verified the email, {@code 0} when it was already verified or there is
+     * no such user
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.isEmailVerified = true, u.updatedAt = CURRENT_TIMESTAMP " +
+            "where u.email = :email and u.isEmailVerified = false")
+    int markEmailVerified(String email);
+
+    /**
+     * Replaces the password hash in one statement, without loading the user.
+     *
+     * @return {@code 0} when there is no such user
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update User u set u.password = :password, u.updatedAt = CURRENT_TIMESTAMP where u.email = :email")
+    int updatePassword(String email, String password);
+
+    Page<User> findAll(Pageable pageable);
+
+    /**
+     * Pages over user ids only. Paging a join of a collection would make Hibernate load every row and page in
+     * memory, so the admin listing pages the ids first and then loads them with {@link #findRowsByIdIn}.
+     */
+    @Query(value = "select u.id from User u", countQuery = "select count(u) from User u")
+    Page<Long> findIdPage(Pageable pageable);
+
+    /**
+     * First positions of the keyset listing. The limit comes from {@code pageable}; no count query is run.
+     */
+    @Query("select new com.example.utils.UserCursor(u.createdAt, u.id) from User u order by u.createdAt, u.id")
+    List<UserCursor> findFirstPositions(Pageable pageable);
+
+    /**
+     * Positions after the given one, in {@code (created_at, id)} order. The row comparison seeks directly into
+     * the {@code (created_at, id)} index, so it costs the same on every page.
+     */
+    @Query("select new com.example.utils.UserCursor(u.createdAt, u.id) from User u " +
+            "where (u.createdAt, u.id) > (:createdAt, :id) order by u.createdAt, u.id")
+    List<UserCursor> findPositionsAfter(LocalDateTime createdAt, long id, Pageable pageable);
+
+    /**
+     * The read-only columns of the given users, one row per role, in a single statement.
+     */
+    @Query("select new com.example.repository.UserRoleRow(u.id, u.email, u.isEmailVerified, u.createdAt, u.updatedAt, r.name) " +
+            "from User u left join u.roles r where u.id in :ids")
+    List<UserRoleRow> findRowsByIdIn(Collection<Long> ids);
+
+    @Query("select new com.example.repository.UserRoleRow(u.id, u.email, u.isEmailVerified, u.createdAt, u.updatedAt, r.name) " +
+            "from User u left join u.roles r where u.email = :email")
+    List<UserRoleRow> findRowsByEmail(String email);
+}
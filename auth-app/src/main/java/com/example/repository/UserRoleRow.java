@@ -0,0 +1,17 @@
+package com.example.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * One user column set joined with one of its role names, or {@code null} for a user without roles. Selected
+ * by constructor expression, so the rows are plain values that Hibernate neither manages nor snapshots.
+ */
+public record UserRoleRow(
+        Long id,
+        String email,
+        boolean emailVerified,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String role) {
+
+}
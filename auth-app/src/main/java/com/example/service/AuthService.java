@@ -0,0 +1,207 @@
+package com.example.service;
+
+
+import com.example.exceptions.EmailNotVerifiedException;
+import com.example.exceptions.InvalidPasswordException;
+import com.example.exceptions.InvalidTokenException;
+import com.example.exceptions.UserAlreadyExistsException;
+import com.example.payload.request.ChangePasswordRequest;
+import com.example.payload.request.LoginRequest;
+import com.example.payload.request.LogoutRequest;
+import com.example.payload.request.RefreshTokenRequest;
+import com.example.payload.request.RevokeTokenRequest;
+import com.example.payload.request.SignupRequest;
+import com.example.payload.response.LoginResponse;
+import com.example.payload.response.SignupResponse;
+import com.example.repository.UserRepository;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.TokenPair;
+import com.example.utils.VerifiedClaims;
+import com.example.verifier.TokenVerificationException;
+import com.example.verifier.VerifiedToken;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Slf4j
+public class AuthService {
+
+    private final UserRepository userRepository;
+    private final UserDetailsServiceImpl userService;
+    private final AuthenticationManager authenticationManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordEncoder passwordEncoder;
+    private final JwtTokenUtils jwtTokenUtils;
+    private final RefreshTokenFamilyService refreshTokenFamilyService;
+    private final TokenRevocationService tokenRevocationService;
+
+
+    /**
+     * The password is hashed before the insert, outside any transaction, so no connection is held while it
+     * runs; the insert runs in its own read-write transaction. The confirmation email goes out once the
+     * insert has committed, see {@link EmailService#onUserSignedUp}.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public SignupResponse signup(SignupRequest request) {
+        log.debug("Attempting to sign up user with email: {}", request.email());
+
+        String passwordHash = passwordEncoder.encode(request.password());
+        if (!userService.createNewUser(request.email(), passwordHash)) {
+            log.error("User with email {} already exists", request.email());
+            throw new UserAlreadyExistsException("User with email: " + request.email() + " already exists");
+        }
+        log.info("User signed up successfully with email: {}", request.email());
+
+        return new SignupResponse("The user has successfully registered. Please confirm that your email has been sent to your inbox.");
+    }
+
+    /**
+     * The user, password hash, verified flag and roles are loaded by the authentication manager in one
+     * query, and the authenticated principal is reused to mint both tokens.
+     * <p>
+     * Like {@link #signup}, this runs outside any transaction: the user is loaded in its own read
+     * transaction and the password is checked with no connection held, so a burst of logins waits on the
+     * password encoder (and gets its 503) rather than on the connection pool. The refresh token family is
+     * opened in a short transaction of its own once the password has matched.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public LoginResponse login(LoginRequest request) {
+
+        log.debug("Attempting to login user with email: {}", request.email());
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(request.email(), request.password()));
+            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+            UUID familyId = refreshTokenFamilyService.open(request.email());
+            TokenPair tokens = jwtTokenUtils.generateTokenPair(userDetails, familyId, 0);
+
+            log.info("User logged in successfully with email: {}", request.email());
+            return new LoginResponse(request.email(), tokens.token(), tokens.refreshToken());
+        } catch (DisabledException ex) {
+            throw new EmailNotVerifiedException("Email: " + request.email() + " not verified.");
+        } catch (BadCredentialsException ex) {
+            log.error("Invalid password provided for email: {}", request.email());
+            throw new InvalidPasswordException("Invalid password provided.");
+        }
+    }
+
+    /**
+     * Exchanges a refresh token for a new token pair without checking the password again.
+     * The presented refresh token is rotated out; presenting it a second time revokes its family.
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public LoginResponse refresh(RefreshTokenRequest request) {
+        VerifiedToken claims = parseRefreshToken(request.refreshToken());
+        String family = claims.stringClaim("fid");
+        Long generation = claims.longClaim("gen");
+        if (family == null || generation == null) {
+            throw new InvalidTokenException("Refresh token is not valid.");
+        }
+
+        UUID familyId = UUID.fromString(family);
+        String email = claims.subject();
+        // resolved before rotating, so a user lookup that fails leaves the presented generation usable
+        UserDetails userDetails = getUserDetails(email);
+        int nextGeneration = refreshTokenFamilyService.rotate(familyId, generation.intValue());
+        TokenPair tokens = jwtTokenUtils.generateTokenPair(userDetails, familyId, nextGeneration);
+
+        log.info("Tokens refreshed for user: {}", email);
+        return new LoginResponse(email, tokens.token(), tokens.refreshToken());
+    }
+
+    /**
+     * Revokes the access token the caller authenticated with and, when the refresh token issued
+     * with it is given, the whole refresh token family.
+     */
+    @Transactional
+    public void logout(VerifiedClaims current, LogoutRequest request) {
+        if (current.tokenId() != null) {
+            tokenRevocationService.revoke(current.tokenId(), current.expiresAt());
+        }
+        if (request != null && request.refreshToken() != null) {
+            VerifiedToken claims = parseRefreshToken(request.refreshToken());
+            if (!current.username().equals(claims.subject())) {
+                throw new InvalidTokenException("Refresh token is not valid.");
+            }
+            String family = claims.stringClaim("fid");
+            if (family != null) {
+                refreshTokenFamilyService.revoke(UUID.fromString(family));
+            }
+        }
+        log.info("User logged out: {}", current.username());
+    }
+
+    /**
+     * Revokes an access token until it expires. A token that has already expired needs no revocation.
+     */
+    @Transactional
+    public void revoke(RevokeTokenRequest request) {
+        VerifiedToken claims;
+        try {
+            claims = jwtTokenUtils.getAllClaimsFromToken(request.token());
+        } catch (TokenVerificationException e) {
+            if (e.getReason() == TokenVerificationException.Reason.EXPIRED) {
+                log.debug("Token to revoke has already expired");
+                return;
+            }
+            log.debug("Rejected token to revoke: {}", e.getMessage());
+            throw new InvalidTokenException("Token is not valid.");
+        } catch (IllegalArgumentException e) {
+            throw new InvalidTokenException("Token is not valid.");
+        }
+        if (claims.tokenId() == null) {
+            throw new InvalidTokenException("Token has no id and cannot be revoked.");
+        }
+        tokenRevocationService.revoke(UUID.fromString(claims.tokenId()), claims.expiresAt());
+        log.info("Token of user {} revoked by an administrator", claims.subject());
+    }
+
+    /**
+     * Stores the new hash with a single update, without loading the user. The hash is computed before the
+     * update, so the transaction only takes a connection for the update itself. The notification email goes
+     * out once the update has committed, see {@link EmailService#onPasswordChanged}.
+     */
+    @Transactional
+    public void changePassword(ChangePasswordRequest request) {
+        String email = tokenRevocationService.verifyAccessToken(request.verificationToken()).subject();
+        String newPasswordEncoded = passwordEncoder.encode(request.newPassword());
+        if (userRepository.updatePassword(email, newPasswordEncoded) == 0) {
+            throw new EntityNotFoundException("User not found with email: " + email);
+        }
+        userService.invalidateAuthRecord(email);
+        eventPublisher.publishEvent(new PasswordChangedEvent(email));
+
+        log.info("Password changed successfully for user: {}", email);
+    }
+
+
+    private VerifiedToken parseRefreshToken(String refreshToken) {
+        try {
+            return jwtTokenUtils.getAllClaimsFromRefreshToken(refreshToken);
+        } catch (TokenVerificationException | IllegalArgumentException e) {
+            log.debug("Rejected refresh token: {}", e.getMessage());
+            throw new InvalidTokenException("Refresh token is not valid.");
+        }
+    }
+
+    private UserDetails getUserDetails(String email) {
+        return userService.loadUserByUsername(email);
+    }
+
+}
@@ -1,6 +1,5 @@
 package com.example.service;
 
-import com.example.entity.User;
 import com.example.exceptions.EmailAlreadyVerifiedException;
 import com.example.exceptions.PasswordChangeEmailSendingException;
 import com.example.exceptions.ResetPasswordEmailSendingException;
@@ -13,8 +12,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 @Service
 @RequiredArgsConstructor
@@ -25,6 +27,7 @@ public class EmailService {
     private final UserDetailsServiceImpl userService;
     private final UserRepository userRepository;
     private final JwtTokenUtils jwtTokenUtils;
+    private final TokenRevocationService tokenRevocationService;
 
     @Value("${email.sender}")
     private String emailSender;
@@ -44,24 +47,63 @@ public class EmailService {
         log.info("Confirmation email sent to: {}", email);
     }
 
-    public void confirmEmailByToken(String token) {
-        String email = jwtTokenUtils.getUsername(token);
-        User user = userService.findByEmail(email)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
+    /**
+     * Runs after the signup transaction commits, so no mail is sent for a signup that rolled back, and
+     * on the task executor, so neither the signup request nor a bulk import waits for the mail server. A
+     * failure is only logged: the user exists and can ask for the confirmation again.
+     */
+    @Async
+    @TransactionalEventListener
+    public void onUserSignedUp(UserSignedUpEvent event) {
+        UserDetails userDetails = org.springframework.security.core.userdetails.User.withUsername(event.email())
+                .password("")
+                .authorities(UserDetailsServiceImpl.DEFAULT_ROLE)
+                .build();
+        try {
+            sendConfirmationEmail(event.email(), jwtTokenUtils.generateToken(userDetails));
+        } catch (MailException e) {
+            log.warn("Failed to send confirmation email to {}", event.email(), e);
+        }
+    }
 
-        user.setEmailVerified(true);
-        userRepository.save(user);
+    /**
+     * Verifies the email with a single update. Mail scanners often open the link several times; once the
+     * email is verified, the later requests write nothing and succeed as well.
+     */
+    @Transactional
+    public void confirmEmailByToken(String token) {
+        String email = tokenRevocationService.verifyAccessToken(token).subject();
+        if (userRepository.markEmailVerified(email) == 0) {
+            if (!userRepository.existsByEmail(email)) {
+                throw new EntityNotFoundException("User not found with email: " + email);
+            }
+            log.debug("Email already confirmed for user: {}", email);
+            return;
+        }
+        userService.invalidateAuthRecord(email);
         log.info("Email confirmed for user: {}", email);
+    }
 
+    /**
+     * Runs after the password change commits, so the mail server is not waited for while the user row is
+     * locked and a mail failure cannot roll the new password back. A failure is only logged.
+     */
+    @Async
+    @TransactionalEventListener
+    public void onPasswordChanged(PasswordChangedEvent event) {
+        try {
+            sendPasswordChangedEmail(event.email());
+        } catch (PasswordChangeEmailSendingException e) {
+            log.warn("Failed to send password change email to {}", event.email(), e);
+        }
     }
 
     public void resendEmailConfirm(String email) {
-        var user = userService.findByEmail(email)
+        UserDetails userDetails = userService.findUserDetails(email)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
-        if (user.isEmailVerified()) {
+        if (userDetails.isEnabled()) {
             throw new EmailAlreadyVerifiedException("Email already verified for user: " + email);
         }
-        UserDetails userDetails = userService.loadUserByUsername(email);
         var token = jwtTokenUtils.generateToken(userDetails);
         sendConfirmationEmail(email, token);
         log.info("Resent email confirmation for: {}", email);
@@ -0,0 +1,94 @@
+package com.example.service;
+
+import com.example.exceptions.TooManyLoginAttemptsException;
+import com.example.utils.SlidingWindowCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Counts failed logins per email and per client IP over a sliding window. Once either count reaches its
+ * limit, further attempts are refused before the password is hashed or the database is queried, so a
+ * credential stuffing run costs a map lookup per attempt instead of a BCrypt verify.
+ */
+@Service
+@Slf4j
+public class LoginThrottleService {
+
+    private final SlidingWindowCounter failuresByEmail;
+    private final SlidingWindowCounter failuresByIp;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final Duration window;
+    private final Counter allowed;
+    private final Counter blockedByEmail;
+    private final Counter blockedByIp;
+
+    public LoginThrottleService(MeterRegistry meterRegistry,
+                                @Value("${login.throttle.window}") Duration window,
+                                @Value("${login.throttle.max-failures-per-email}") int maxFailuresPerEmail,
+                                @Value("${login.throttle.max-failures-per-ip}") int maxFailuresPerIp,
+                                @Value("${login.throttle.max-keys}") int maxKeys) {
+        this.failuresByEmail = new SlidingWindowCounter(window, maxKeys);
+        this.failuresByIp = new SlidingWindowCounter(window, maxKeys);
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.window = window;
+        this.allowed = attempts(meterRegistry, "allowed", "none");
+        this.blockedByEmail = attempts(meterRegistry, "blocked", "email");
+        this.blockedByIp = attempts(meterRegistry, "blocked", "ip");
+        Gauge.builder("auth.login.throttle.keys", () -> failuresByEmail.size() + failuresByIp.size())
+                .description("Emails and client IPs with recent failed logins")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws TooManyLoginAttemptsException when the email or the client IP has too many recent failures
+     */
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        if (failuresByIp.count(clientIp, now) >= maxFailuresPerIp) {
+            blockedByIp.increment();
+            log.warn("Login from {} refused, too many failed attempts", clientIp);
+            throw new TooManyLoginAttemptsException("Too many failed login attempts, please retry later.", window);
+        }
+        if (failuresByEmail.count(normalize(email), now) >= maxFailuresPerEmail) {
+            blockedByEmail.increment();
+            log.warn("Login for {} refused, too many failed attempts", email);
+            throw new TooManyLoginAttemptsException("Too many failed login attempts, please retry later.", window);
+        }
+        allowed.increment();
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        failuresByEmail.increment(normalize(email), now);
+        failuresByIp.increment(clientIp, now);
+    }
+
+    /**
+     * A successful login clears the failures of the email, but not of the client IP, which may be
+     * shared by an attacker trying other accounts.
+     */
+    public void recordSuccess(String email) {
+        failuresByEmail.reset(normalize(email));
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter attempts(MeterRegistry meterRegistry, String result, String limit) {
+        return Counter.builder("auth.login.throttle")
+                .description("Login attempts checked against the failed login limits")
+                .tag("result", result)
+                .tag("limit", limit)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.service;
+
+/**
+ * Published inside the password change transaction; listeners that talk to the outside world should run after commit.
+ */
+public record PasswordChangedEvent(String email) {
+}
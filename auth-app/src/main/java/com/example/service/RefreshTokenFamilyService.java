@@ -0,0 +1,120 @@
+package com.example.service;
+
+import com.example.entity.RefreshTokenFamily;
+import com.example.exceptions.InvalidTokenException;
+import com.example.repository.RefreshTokenFamilyRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Tracks refresh token families. Every login opens a family, every refresh moves it to the next
+ * generation, and presenting an older generation again revokes the whole family.
+ * <p>
+ * Generations only grow and revocation is final, so the in-memory state can reject a reused or revoked
+ * token without a database round trip even when another node rotated the family since. What this node
+ * writes is cached only once its transaction commits, so a rotation that rolls back leaves the presented
+ * generation usable for a retry.
+ */
+@Service
+@Slf4j
+public class RefreshTokenFamilyService {
+
+    private final RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+    private final Duration refreshLifetime;
+    private final Cache<UUID, FamilyState> families;
+
+    public RefreshTokenFamilyService(RefreshTokenFamilyRepository refreshTokenFamilyRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${jwt.refreshLifetime}") Duration refreshLifetime,
+                                     @Value("${jwt.refresh-families.cache.max-size}") long maxSize) {
+        this.refreshTokenFamilyRepository = refreshTokenFamilyRepository;
+        this.refreshLifetime = refreshLifetime;
+        this.families = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(refreshLifetime)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, families, "jwt.refresh.families");
+    }
+
+    @Transactional
+    public UUID open(String email) {
+        UUID id = UUID.randomUUID();
+        if (refreshTokenFamilyRepository.create(id, email, Instant.now().plus(refreshLifetime)) == 0) {
+            throw new EntityNotFoundException("User not found with email: " + email);
+        }
+        rememberAfterCommit(id, new FamilyState(0, false));
+        log.debug("Opened refresh token family {} for user: {}", id, email);
+        return id;
+    }
+
+    /**
+     * Moves the family from {@code generation} to the next one and returns it.
+     *
+     * @throws InvalidTokenException when the family is unknown, revoked or expired, or when
+     *                               {@code generation} was already used, which also revokes the family
+     */
+    @Transactional(noRollbackFor = InvalidTokenException.class)
+    public int rotate(UUID id, int generation) {
+        FamilyState cached = families.getIfPresent(id);
+        if (cached != null && (cached.revoked() || cached.generation() > generation)) {
+            return reject(id, generation, cached);
+        }
+
+        Instant now = Instant.now();
+        if (refreshTokenFamilyRepository.rotate(id, generation, now.plus(refreshLifetime), now) == 1) {
+            rememberAfterCommit(id, new FamilyState(generation + 1, false));
+            return generation + 1;
+        }
+
+        RefreshTokenFamily family = refreshTokenFamilyRepository.findById(id)
+                .orElseThrow(() -> new InvalidTokenException("Refresh token is not valid."));
+        FamilyState stored = new FamilyState(family.getGeneration(), family.isRevoked());
+        families.put(id, stored);
+        return reject(id, generation, stored);
+    }
+
+    @Transactional
+    public void revoke(UUID id) {
+        refreshTokenFamilyRepository.revoke(id);
+        rememberAfterCommit(id, new FamilyState(Integer.MAX_VALUE, true));
+        log.debug("Revoked refresh token family {}", id);
+    }
+
+    private int reject(UUID id, int generation, FamilyState state) {
+        if (!state.revoked() && state.generation() > generation) {
+            log.warn("Refresh token reuse detected for family {} at generation {}", id, generation);
+            revoke(id);
+        }
+        throw new InvalidTokenException("Refresh token is not valid.");
+    }
+
+    private void rememberAfterCommit(UUID id, FamilyState state) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            families.put(id, state);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                families.put(id, state);
+            }
+        });
+    }
+
+    private record FamilyState(int generation, boolean revoked) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.service;
+
+import com.example.payload.response.IntrospectResponse;
+import com.example.payload.response.TokenIntrospection;
+import com.example.utils.VerifiedClaims;
+import com.example.verifier.TokenVerificationException;
+import com.example.verifier.TokenVerifier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Answers whether access tokens are active for services that cannot verify them themselves.
+ * Tokens go through the same cached verifier and revocation check as requests to this app,
+ * and large batches are verified in parallel.
+ */
+@Service
+@Slf4j
+public class TokenIntrospectionService {
+
+    private final TokenVerifier<VerifiedClaims> accessTokenVerifier;
+    private final TokenRevocationService tokenRevocationService;
+    private final int parallelThreshold;
+    private final Duration maxCacheAge;
+
+    public TokenIntrospectionService(TokenVerifier<VerifiedClaims> accessTokenVerifier,
+                                     TokenRevocationService tokenRevocationService,
+                                     @Value("${jwt.introspection.parallel-threshold}") int parallelThreshold,
+                                     @Value("${jwt.introspection.max-cache-age}") Duration maxCacheAge) {
+        this.accessTokenVerifier = accessTokenVerifier;
+        this.tokenRevocationService = tokenRevocationService;
+        this.parallelThreshold = parallelThreshold;
+        this.maxCacheAge = maxCacheAge;
+    }
+
+    public IntrospectResponse introspect(List<String> tokens) {
+        Stream<String> stream = tokens.size() >= parallelThreshold ? tokens.parallelStream() : tokens.stream();
+        List<TokenIntrospection> results = stream.map(this::introspect).toList();
+        log.debug("Introspected {} tokens", tokens.size());
+        return new IntrospectResponse(results);
+    }
+
+    /**
+     * How long the answer may be cached: until the first active token expires, but never longer than
+     * {@code jwt.introspection.max-cache-age} so revocations reach callers. Inactive tokens never
+     * become active again and do not shorten it.
+     */
+    public Duration cacheDuration(IntrospectResponse response) {
+        Instant now = Instant.now();
+        Duration cacheFor = maxCacheAge;
+        for (TokenIntrospection token : response.tokens()) {
+            if (token.active()) {
+                Duration left = Duration.between(now, token.expiresAt());
+                if (left.compareTo(cacheFor) < 0) {
+                    cacheFor = left.isNegative() ? Duration.ZERO : left;
+                }
+            }
+        }
+        return cacheFor;
+    }
+
+    private TokenIntrospection introspect(String token) {
+        VerifiedClaims claims;
+        try {
+            claims = accessTokenVerifier.verify(token);
+        } catch (TokenVerificationException | IllegalArgumentException e) {
+            return TokenIntrospection.INACTIVE;
+        }
+        if (tokenRevocationService.isRevoked(claims.tokenId())) {
+            return TokenIntrospection.INACTIVE;
+        }
+        List<String> roles = claims.authorities().stream().map(GrantedAuthority::getAuthority).toList();
+        return new TokenIntrospection(true, claims.username(), roles, claims.expiresAt());
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.service;
+
+import com.example.entity.RevokedToken;
+import com.example.exceptions.InvalidTokenException;
+import com.example.repository.RevokedTokenRepository;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.RevokedTokenSet;
+import com.example.verifier.TokenVerificationException;
+import com.example.verifier.VerifiedToken;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Revoked token ids are persisted in {@code revoked_tokens} and mirrored in a {@link RevokedTokenSet},
+ * so the JWT filter checks revocation without a database round trip. Other nodes' revocations are
+ * picked up by {@link #synchronize()}, which also drops entries whose token expired anyway.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    /**
+     * Revocations are read back slightly before the last sync to tolerate clock skew between nodes
+     * and transactions that committed late.
+     */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtTokenUtils jwtTokenUtils;
+    private final RevokedTokenSet revokedTokens;
+    private volatile Instant syncedUntil = Instant.EPOCH;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  JwtTokenUtils jwtTokenUtils,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${jwt.revocation.bloom-filter}") boolean bloomFilter) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtTokenUtils = jwtTokenUtils;
+        this.revokedTokens = new RevokedTokenSet(bloomFilter);
+        Gauge.builder("jwt.revoked.tokens", revokedTokens, RevokedTokenSet::size)
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void loadRevokedTokens() {
+        Instant now = Instant.now();
+        revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(Instant.EPOCH, now).forEach(this::remember);
+        syncedUntil = now;
+        log.info("Loaded {} revoked tokens", revokedTokens.size());
+    }
+
+    public boolean isRevoked(UUID tokenId) {
+        return tokenId != null && revokedTokens.contains(tokenId, System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Verifies an access token presented outside the JWT filter, such as in an email confirmation link or a
+     * password change request, and rejects it when it has been revoked like the filter does.
+     *
+     * @throws InvalidTokenException when the token is not a valid access token or has been revoked
+     */
+    public VerifiedToken verifyAccessToken(String token) {
+        VerifiedToken claims;
+        try {
+            claims = jwtTokenUtils.getAllClaimsFromToken(token);
+            if (claims.tokenId() != null && isRevoked(UUID.fromString(claims.tokenId()))) {
+                log.debug("Rejected revoked token {}", claims.tokenId());
+                throw new InvalidTokenException("Token is not valid.");
+            }
+        } catch (TokenVerificationException | IllegalArgumentException e) {
+            log.debug("Rejected token: {}", e.getMessage());
+            throw new InvalidTokenException("Token is not valid.");
+        }
+        return claims;
+    }
+
+    @Transactional
+    public void revoke(UUID tokenId, Instant expiresAt) {
+        revokedTokenRepository.insert(tokenId, expiresAt, Instant.now());
+        revokedTokens.add(tokenId, expiresAt.getEpochSecond());
+        log.info("Token {} revoked until {}", tokenId, expiresAt);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval}")
+    @Transactional
+    public void synchronize() {
+        Instant now = Instant.now();
+        revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(syncedUntil.minus(SYNC_OVERLAP), now)
+                .forEach(this::remember);
+        syncedUntil = now;
+
+        int removed = revokedTokens.removeExpired(now.getEpochSecond());
+        int deleted = revokedTokenRepository.deleteExpired(now);
+        if (removed > 0 || deleted > 0) {
+            log.debug("Dropped {} expired revoked tokens from memory and {} from the database", removed, deleted);
+        }
+    }
+
+    private void remember(RevokedToken revokedToken) {
+        revokedTokens.add(revokedToken.getJti(), revokedToken.getExpiresAt().getEpochSecond());
+    }
+}
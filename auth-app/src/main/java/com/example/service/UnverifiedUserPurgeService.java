@@ -0,0 +1,128 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Deletes users whose email is still unconfirmed {@code unverifiedAfter} after signup, with their role
+ * assignments. Users are deleted {@code batchSize} at a time, each batch in its own short transaction
+ * followed by {@code pause}, so row locks stay few and short-lived and WAL is written at a bounded rate.
+ * Batches walk the {@code (created_at, id)} index from where the previous one stopped. Every node runs the
+ * purge; concurrent runs skip each other's rows instead of waiting on them.
+ */
+@Service
+@Slf4j
+public class UnverifiedUserPurgeService {
+
+    /**
+     * Deletes one batch and returns the position and email of each deleted user. Rows locked by a concurrent
+     * confirmation or purge are skipped rather than waited for, and a user confirmed before the lock is
+     * taken no longer matches.
+     */
+    private static final String DELETE_BATCH = "WITH batch AS (" +
+            "SELECT id FROM users " +
+            "WHERE is_email_verified = false AND created_at < ? AND (created_at, id) > (?, ?) " +
+            "ORDER BY created_at, id LIMIT ? FOR UPDATE SKIP LOCKED), " +
+            "unassigned AS (DELETE FROM users_roles WHERE user_id IN (SELECT id FROM batch)) " +
+            "DELETE FROM users WHERE id IN (SELECT id FROM batch) RETURNING created_at, id, email";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final UserAuthCache userAuthCache;
+    private final Counter purged;
+    private final Duration unverifiedAfter;
+    private final int batchSize;
+    private final Duration pause;
+
+    public UnverifiedUserPurgeService(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      UserAuthCache userAuthCache,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${users.purge.unverified-after}") Duration unverifiedAfter,
+                                      @Value("${users.purge.batch-size}") int batchSize,
+                                      @Value("${users.purge.pause}") Duration pause) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.userAuthCache = userAuthCache;
+        this.purged = Counter.builder("users.purged")
+                .description("Unverified users deleted by the purge")
+                .register(meterRegistry);
+        this.unverifiedAfter = unverifiedAfter;
+        this.batchSize = batchSize;
+        this.pause = pause;
+    }
+
+    @Scheduled(fixedDelayString = "${users.purge.interval}", initialDelayString = "${users.purge.interval}")
+    public void purge() {
+        purgeCreatedBefore(LocalDateTime.now().minus(unverifiedAfter));
+    }
+
+    /**
+     * @return the number of users deleted
+     */
+    public long purgeCreatedBefore(LocalDateTime cutoff) {
+        long started = System.nanoTime();
+        long deleted = 0;
+        int batches = 0;
+        Position after = Position.START;
+        while (true) {
+            Position from = after;
+            List<DeletedUser> batch = transaction.execute(status -> jdbcTemplate.query(DELETE_BATCH,
+                    (rs, rowNum) -> new DeletedUser(
+                            new Position(rs.getTimestamp("created_at").toLocalDateTime(), rs.getLong("id")),
+                            rs.getString("email")),
+                    Timestamp.valueOf(cutoff), Timestamp.valueOf(from.createdAt()), from.id(), batchSize));
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            batches++;
+            deleted += batch.size();
+            purged.increment(batch.size());
+            batch.forEach(user -> userAuthCache.invalidate(user.email()));
+            after = batch.stream().map(DeletedUser::position).max(Position.ORDER).orElseThrow();
+            if (batch.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        log.info("Purged {} users unverified since before {} in {} batches, {} ms", deleted, cutoff, batches,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+        return deleted;
+    }
+
+    /**
+     * @return {@code false} when interrupted, ending the run
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record Position(LocalDateTime createdAt, long id) {
+
+        static final Position START = new Position(LocalDateTime.of(1, 1, 1, 0, 0), 0);
+        static final Comparator<Position> ORDER =
+                Comparator.comparing(Position::createdAt).thenComparingLong(Position::id);
+    }
+
+    private record DeletedUser(Position position, String email) {
+
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of what authentication needs to know about a user, keyed by email: the password hash, the
+ * verified flag and the authorities. Entries expire {@code ttl} after they are loaded, which bounds how long
+ * a change made on another node or directly in the database goes unnoticed here. Code that changes the
+ * hash, the verified flag or the roles of a user calls {@link #invalidate} in the same transaction.
+ * Unknown emails are not cached, so a new signup can log in at once. Hits, misses and evictions are
+ * published as the {@code users.auth} cache metrics.
+ */
+@Component
+public class UserAuthCache {
+
+    private final Cache<String, AuthRecord> records;
+
+    public UserAuthCache(MeterRegistry meterRegistry,
+                         @Value("${users.auth-cache.enabled}") boolean enabled,
+                         @Value("${users.auth-cache.max-size}") long maxSize,
+                         @Value("${users.auth-cache.ttl}") Duration ttl) {
+        if (enabled) {
+            this.records = Caffeine.newBuilder()
+                    .maximumSize(maxSize)
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(meterRegistry, records, "users.auth");
+        } else {
+            this.records = null;
+        }
+    }
+
+    /**
+     * The loader runs inside the cache's computation for {@code email}, so an {@link #invalidate} that
+     * arrives meanwhile waits for it and then removes what it loaded.
+     *
+     * @param loader reads the record from the database, empty when there is no such user
+     */
+    public Optional<AuthRecord> get(String email, Function<String, Optional<AuthRecord>> loader) {
+        if (records == null) {
+            return loader.apply(email);
+        }
+        return Optional.ofNullable(records.get(email, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Drops the entry now and again once the current transaction completes: a login between the two
+     * still reads the old row and would otherwise keep it cached until it expires.
+     */
+    public void invalidate(String email) {
+        if (records == null) {
+            return;
+        }
+        records.invalidate(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    records.invalidate(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Kept apart from {@link org.springframework.security.core.userdetails.UserDetails}, whose password
+     * the authentication manager erases once a login succeeds.
+     */
+    public record AuthRecord(String password, boolean emailVerified, List<GrantedAuthority> authorities) {
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.payload.response.UserSliceResponse;
+import com.example.payload.response.UserSummary;
+import com.example.repository.UserRepository;
+import com.example.repository.UserRoleRow;
+import com.example.utils.RoleRegistry;
+import com.example.utils.UserCursor;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UserDetailsServiceImpl implements org.springframework.security.core.userdetails.UserDetailsService,
+        UserDetailsPasswordService {
+
+    public static final String DEFAULT_ROLE = "ROLE_USER";
+
+    private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RoleRegistry roleRegistry;
+    private final UserAuthCache userAuthCache;
+
+
+    /**
+     * Served from the {@link UserAuthCache} when the user was loaded recently.
+     */
+    @Override
+    @Transactional
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        return findUserDetails(email).orElseThrow(() -> new UsernameNotFoundException(
+                String.format("User with email '%s' not found", email)
+        ));
+    }
+
+    /**
+     * Like {@link #loadUserByUsername} but empty for an unknown email. An unverified email is reported as a
+     * disabled account, so the authentication manager rejects it without a separate lookup. Each call
+     * returns a new instance, since a successful login erases the password of the one it authenticated.
+     * A missing record is read in a read-write transaction, so it comes from the primary: a replica behind a
+     * password change would otherwise have the old hash cached until it expires.
+     */
+    @Transactional
+    public Optional<UserDetails> findUserDetails(String email) {
+        return userAuthCache.get(email, this::loadAuthRecord).map(record ->
+                new org.springframework.security.core.userdetails.User(
+                        email,
+                        record.password(),
+                        record.emailVerified(),
+                        true,
+                        true,
+                        true,
+                        record.authorities()));
+    }
+
+    /**
+     * Drops the cached authentication record of {@code email}; called by everything that changes its
+     * password hash, verified flag or roles.
+     */
+    public void invalidateAuthRecord(String email) {
+        userAuthCache.invalidate(email);
+    }
+
+    /**
+     * Reads the user row alone and resolves its roles from the {@code role_mask} column through the role
+     * registry, sharing its authority instances. A mask holding a role the registry does not know, such as
+     * one created after startup, falls back to joining the roles.
+     */
+    private Optional<UserAuthCache.AuthRecord> loadAuthRecord(String email) {
+        return userRepository.findByEmail(email).map(user -> {
+            List<GrantedAuthority> authorities;
+            if (roleRegistry.encodes(user.getRoleMask())) {
+                authorities = roleRegistry.authoritiesOf(user.getRoleMask());
+            } else {
+                log.debug("Role mask {} of {} is not in the role registry, loading roles", user.getRoleMask(), email);
+                authorities = roleRegistry.authoritiesOf(userRepository.findWithRolesByEmail(email)
+                        .map(withRoles -> withRoles.getRoles().stream().map(Role::getName).toList())
+                        .orElse(List.of()));
+            }
+            log.debug("Loaded user details for email: {}", email);
+            return new UserAuthCache.AuthRecord(user.getPassword(), user.isEmailVerified(), authorities);
+        });
+    }
+
+    /**
+     * Called by the authentication manager after a successful login whose stored hash uses an outdated
+     * algorithm or work factor, with the password already rehashed by the current encoder.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.findByEmail(userDetails.getUsername()).ifPresent(user -> {
+            user.setPassword(newPassword);
+            userRepository.save(user);
+            userAuthCache.invalidate(userDetails.getUsername());
+            log.info("Upgraded password hash of user {}", userDetails.getUsername());
+        });
+        return org.springframework.security.core.userdetails.User.withUserDetails(userDetails)
+                .password(newPassword)
+                .build();
+    }
+
+
+    /**
+     * Inserts the user and its {@code ROLE_USER} assignment in one statement that does nothing when the
+     * email is taken, so concurrent signups of the same email cannot both succeed. The confirmation email
+     * is sent by listeners of {@link UserSignedUpEvent} once the insert has committed.
+     *
+     * @return {@code false} when a user with this email already exists
+     */
+    @Transactional
+    public boolean createNewUser(String email, String passwordHash) {
+        if (userRepository.insertIfAbsent(email, passwordHash, DEFAULT_ROLE) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new UserSignedUpEvent(email));
+        log.info("New user created with email: {}", email);
+        return true;
+    }
+
+    /**
+     * The profile of {@code email}, read as plain values without loading the entity.
+     */
+    @Transactional(readOnly = true)
+    public UserSummary findSummaryByEmail(String email) {
+        List<UserSummary> summaries = summaries(userRepository.findRowsByEmail(email));
+        if (summaries.isEmpty()) {
+            throw new EntityNotFoundException(String.format("User with email '%s' not found", email));
+        }
+        return summaries.get(0);
+    }
+
+    /**
+     * Loads a page of users with their roles in a fixed number of statements: the page of ids, the total
+     * count and the users with roles, instead of one roles query per user. Users are ordered by id so pages
+     * stay stable.
+     */
+    @Transactional(readOnly = true)
+    public Page<UserSummary> findAllUsers(int page, int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("id"));
+        Page<Long> ids = userRepository.findIdPage(pageable);
+        List<UserSummary> users = findSummaries(ids.getContent());
+        log.debug("Found {} users", ids.getTotalElements());
+        return new PageImpl<>(users, pageable, ids.getTotalElements());
+    }
+
+    /**
+     * Keyset listing: seeks past {@code cursor} on {@code (created_at, id)} instead of skipping rows, so
+     * every slice costs the same however deep it is. One extra position is read to tell whether another slice
+     * follows. The total count scans the whole table and is only run when asked for.
+     *
+     * @param cursor {@code null} for the first slice, otherwise the {@code nextCursor} of the previous one
+     */
+    @Transactional(readOnly = true)
+    public UserSliceResponse findUsersAfter(String cursor, int size, boolean includeTotal) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<UserCursor> positions;
+        if (cursor == null) {
+            positions = userRepository.findFirstPositions(limit);
+        } else {
+            UserCursor after = UserCursor.decode(cursor);
+            positions = userRepository.findPositionsAfter(after.createdAt(), after.id(), limit);
+        }
+        boolean hasNext = positions.size() > size;
+        List<UserCursor> slice = hasNext ? positions.subList(0, size) : positions;
+        List<UserSummary> users = findSummaries(slice.stream().map(UserCursor::id).toList());
+        // from the positions read, not the users loaded: a user deleted in between is missing from the slice
+        String nextCursor = hasNext ? slice.get(slice.size() - 1).encode() : null;
+        Long total = includeTotal ? userRepository.count() : null;
+        log.debug("Found {} users after cursor {}", users.size(), cursor);
+        return new UserSliceResponse(users, nextCursor, total);
+    }
+
+    /**
+     * @return the summaries of {@code ids}, in the order of {@code ids}
+     */
+    private List<UserSummary> findSummaries(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, UserSummary> byId = new HashMap<>();
+        summaries(userRepository.findRowsByIdIn(ids)).forEach(summary -> byId.put(summary.id(), summary));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Folds the one-row-per-role result back into one summary per user.
+     */
+    private static List<UserSummary> summaries(List<UserRoleRow> rows) {
+        Map<Long, List<String>> roles = new LinkedHashMap<>();
+        Map<Long, UserRoleRow> users = new LinkedHashMap<>();
+        for (UserRoleRow row : rows) {
+            users.putIfAbsent(row.id(), row);
+            List<String> userRoles = roles.computeIfAbsent(row.id(), id -> new ArrayList<>());
+            if (row.role() != null) {
+                userRoles.add(row.role());
+            }
+        }
+        return users.values().stream()
+                .map(row -> new UserSummary(row.id(), row.email(), row.emailVerified(), row.createdAt(),
+                        row.updatedAt(), List.copyOf(roles.get(row.id()))))
+                .toList();
+    }
+}
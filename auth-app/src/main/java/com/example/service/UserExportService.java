@@ -0,0 +1,173 @@
+package com.example.service;
+
+import com.example.payload.response.UserSummary;
+import com.example.repository.UserRoleRow;
+import com.example.utils.Csv;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Streams every user to an output stream as NDJSON or CSV. Rows are read through a forward-only cursor,
+ * {@code fetchSize} at a time, and written as they arrive, so memory does not grow with the table and the
+ * first bytes go out long before the last row is read.
+ */
+@Service
+@Slf4j
+public class UserExportService {
+
+    private static final String ROWS_QUERY =
+            "select new com.example.repository.UserRoleRow(u.id, u.email, u.isEmailVerified, u.createdAt, u.updatedAt, r.name) " +
+                    "from User u left join u.roles r order by u.id";
+
+    public enum Format {
+
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String fileName() {
+            return "users." + extension;
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public UserExportService(EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${users.export.fetch-size}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Runs in its own read-only transaction, since the Postgres driver only keeps a cursor open inside one
+     * and otherwise reads the whole result into memory. The rows are constructor-expression values, so
+     * nothing accumulates in the persistence context; the writer is flushed every {@code fetchSize} users.
+     *
+     * @return the number of users written
+     */
+    public long export(Format format, OutputStream outputStream) {
+        Long exported = readOnlyTransaction.execute(status -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            try (Stream<UserRoleRow> rows = entityManager.createQuery(ROWS_QUERY, UserRoleRow.class)
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                    .setHint(HibernateHints.HINT_READ_ONLY, true)
+                    .getResultStream()) {
+                if (format == Format.CSV) {
+                    writer.write("id,email,email_verified,created_at,updated_at,roles\n");
+                }
+                long count = 0;
+                Iterator<UserSummary> users = new UserSummaryIterator(rows.iterator());
+                while (users.hasNext()) {
+                    write(format, users.next(), writer);
+                    if (++count % fetchSize == 0) {
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+                return count;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Exported {} users as {}", exported, format);
+        return Objects.requireNonNull(exported);
+    }
+
+    private void write(Format format, UserSummary user, Writer writer) throws IOException {
+        switch (format) {
+            case NDJSON -> writer.write(objectMapper.writeValueAsString(user));
+            case CSV -> writer.write(String.join(",",
+                    String.valueOf(user.id()),
+                    Csv.quote(user.email()),
+                    String.valueOf(user.emailVerified()),
+                    csv(user.createdAt()),
+                    csv(user.updatedAt()),
+                    Csv.quote(String.join(";", user.roles()))));
+        }
+        writer.write('\n');
+    }
+
+    private static String csv(LocalDateTime value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Folds the one-row-per-role stream, ordered by user id, into one summary per user while holding only
+     * the current user.
+     */
+    private static final class UserSummaryIterator implements Iterator<UserSummary> {
+
+        private final Iterator<UserRoleRow> rows;
+        private UserRoleRow pending;
+
+        UserSummaryIterator(Iterator<UserRoleRow> rows) {
+            this.rows = rows;
+            this.pending = rows.hasNext() ? rows.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public UserSummary next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+            UserRoleRow first = pending;
+            List<String> roles = new ArrayList<>();
+            UserRoleRow row = first;
+            while (row != null && row.id().equals(first.id())) {
+                if (row.role() != null) {
+                    roles.add(row.role());
+                }
+                row = rows.hasNext() ? rows.next() : null;
+            }
+            pending = row;
+            return new UserSummary(first.id(), first.email(), first.emailVerified(), first.createdAt(),
+                    first.updatedAt(), List.copyOf(roles));
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.service;
+
+import com.example.exceptions.InvalidImportException;
+import com.example.payload.request.SignupRequest;
+import com.example.payload.response.UserImportResponse;
+import com.example.payload.response.UserImportResponse.RowError;
+import com.example.utils.BoundedPasswordEncoder;
+import com.example.utils.Csv;
+import com.example.utils.RoleRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Creates users from a CSV upload with an {@code email} and a {@code password} column and an optional
+ * {@code role} column, {@code ROLE_USER} when absent or blank. Rows are read as they arrive and handled
+ * {@code chunkSize} at a time: each row is checked against the signup rules, the passwords of a chunk are
+ * hashed in parallel, and the chunk is loaded with one COPY and one insert statement. Rejected rows do not
+ * stop the import; they are reported with their line and reason.
+ * <p>
+ * Imported users either get the signup confirmation email or are created with their email already
+ * verified. An import has to pick one: users left unconfirmed cannot log in and are deleted by
+ * {@link UnverifiedUserPurgeService} once {@code users.purge.unverified-after} has passed.
+ */
+@Service
+@Slf4j
+public class UserImportService implements AutoCloseable {
+
+    /**
+     * Width of {@code users.email}.
+     */
+    static final int MAX_EMAIL_LENGTH = 50;
+
+    private static final String CREATE_STAGING_TABLE =
+            "CREATE TEMP TABLE user_import (line BIGINT, email VARCHAR(255), password VARCHAR(255), role VARCHAR(50)) " +
+                    "ON COMMIT DROP";
+    private static final String COPY_TO_STAGING_TABLE =
+            "COPY user_import (line, email, password, role) FROM STDIN (FORMAT csv)";
+
+    /**
+     * Moves the staged rows into users and users_roles, skipping emails that are already taken, and returns
+     * the lines of the skipped rows. The single parameter is the verified flag of the new users.
+     */
+    private static final String LOAD_STAGED_USERS = "WITH inserted AS (" +
+            "INSERT INTO users (id, email, password, is_email_verified, created_at) " +
+            "SELECT nextval('users_id_seq'), email, password, ?, CURRENT_TIMESTAMP FROM user_import ORDER BY line " +
+            "ON CONFLICT (email) DO NOTHING RETURNING id, email), " +
+            "assigned AS (" +
+            "INSERT INTO users_roles (user_id, role_id) " +
+            "SELECT inserted.id, roles.id FROM inserted " +
+            "JOIN user_import ON user_import.email = inserted.email " +
+            "JOIN roles ON roles.name = user_import.role) " +
+            "SELECT line FROM user_import WHERE email NOT IN (SELECT email FROM inserted)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final RoleRegistry roleRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ExecutorService hashing;
+    private final int chunkSize;
+
+    /**
+     * Passwords are hashed on a {@link BoundedPasswordEncoder#share share} of the password hashing pool of
+     * at most half its threads, so logins and signups keep the other half for the whole import. A hashing
+     * thread count of 0 takes that half; a larger count is capped at it.
+     */
+    public UserImportService(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             BoundedPasswordEncoder passwordEncoder,
+                             Validator validator,
+                             RoleRegistry roleRegistry,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${users.import.chunk-size}") int chunkSize,
+                             @Value("${users.import.hashing-threads}") int hashingThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transaction = new TransactionTemplate(transactionManager);
+        int share = Math.max(1, passwordEncoder.threads() / 2);
+        int threads = hashingThreads > 0 ? Math.min(hashingThreads, share) : share;
+        this.passwordEncoder = passwordEncoder.share(threads);
+        this.validator = validator;
+        this.roleRegistry = roleRegistry;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashing = Executors.newFixedThreadPool(threads,
+                runnable -> {
+                    Thread thread = new Thread(runnable, "user-import-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * @param sendConfirmation whether each created user gets the signup confirmation email; the emails are
+     *                         queued once their chunk has committed
+     * @param markVerified     whether the created users start with their email verified, for addresses the
+     *                         caller has already confirmed
+     * @throws InvalidImportException when neither or both of {@code sendConfirmation} and {@code markVerified}
+     *                                are set, or when the file has no header with {@code email} and
+     *                                {@code password}
+     */
+    public UserImportResponse importUsers(InputStream csv, boolean sendConfirmation, boolean markVerified) throws IOException {
+        if (sendConfirmation == markVerified) {
+            throw new InvalidImportException(sendConfirmation
+                    ? "Users marked verified need no confirmation email"
+                    : "Imported users must either get a confirmation email or be marked verified; " +
+                    "unconfirmed users are deleted by the purge");
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        Columns columns = Columns.of(reader.readLine());
+        List<RowError> errors = new ArrayList<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        Set<String> chunkEmails = new HashSet<>();
+        long imported = 0;
+        long lineNumber = 1;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            Row row = parse(lineNumber, line, columns, errors);
+            if (row == null) {
+                continue;
+            }
+            if (!chunkEmails.add(row.email())) {
+                errors.add(new RowError(lineNumber, row.email(), "Duplicate email in the file"));
+                continue;
+            }
+            chunk.add(row);
+            if (chunk.size() == chunkSize) {
+                imported += load(chunk, sendConfirmation, markVerified, errors);
+                chunk.clear();
+                chunkEmails.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += load(chunk, sendConfirmation, markVerified, errors);
+        }
+        errors.sort(Comparator.comparingLong(RowError::line));
+        log.info("Imported {} users, rejected {} rows", imported, errors.size());
+        return new UserImportResponse(imported, errors.size(), errors);
+    }
+
+    @Override
+    public void close() {
+        hashing.shutdownNow();
+    }
+
+    /**
+     * @return the row, or {@code null} after recording why it is rejected
+     */
+    private Row parse(long lineNumber, String line, Columns columns, List<RowError> errors) {
+        List<String> fields;
+        try {
+            fields = Csv.split(line);
+        } catch (IllegalArgumentException e) {
+            errors.add(new RowError(lineNumber, null, e.getMessage()));
+            return null;
+        }
+        if (fields.size() < columns.count()) {
+            errors.add(new RowError(lineNumber, null, "Expected " + columns.count() + " fields"));
+            return null;
+        }
+        String email = fields.get(columns.email()).strip();
+        String password = fields.get(columns.password());
+        String role = columns.role() < 0 || fields.get(columns.role()).isBlank()
+                ? UserDetailsServiceImpl.DEFAULT_ROLE
+                : fields.get(columns.role()).strip();
+
+        String violations = validator.validate(new SignupRequest(email, password)).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        if (!violations.isEmpty()) {
+            errors.add(new RowError(lineNumber, email, violations));
+            return null;
+        }
+        if (email.length() > MAX_EMAIL_LENGTH) {
+            errors.add(new RowError(lineNumber, email, "Email must be at most " + MAX_EMAIL_LENGTH + " characters"));
+            return null;
+        }
+        if (!roleRegistry.knows(role)) {
+            errors.add(new RowError(lineNumber, email, "Unknown role: " + role));
+            return null;
+        }
+        return new Row(lineNumber, email, password, role);
+    }
+
+    /**
+     * Loads one chunk in its own transaction, so a chunk that fails leaves the chunks before it in place.
+     *
+     * @return the number of users created
+     */
+    private long load(List<Row> chunk, boolean sendConfirmation, boolean markVerified, List<RowError> errors) {
+        List<Row> rows = hash(chunk);
+        StringBuilder copyData = new StringBuilder();
+        for (Row row : rows) {
+            copyData.append(row.line()).append(',')
+                    .append(Csv.quote(row.email())).append(',')
+                    .append(Csv.quote(row.password())).append(',')
+                    .append(Csv.quote(row.role())).append('\n');
+        }
+        List<Long> takenLines = transaction.execute(status -> {
+            jdbcTemplate.execute(CREATE_STAGING_TABLE);
+            jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try {
+                    return connection.unwrap(PGConnection.class).getCopyAPI()
+                            .copyIn(COPY_TO_STAGING_TABLE, new StringReader(copyData.toString()));
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed to copy users to the staging table", e);
+                }
+            });
+            List<Long> skipped = jdbcTemplate.queryForList(LOAD_STAGED_USERS, Long.class, markVerified);
+            if (sendConfirmation) {
+                Set<Long> skippedLines = Set.copyOf(skipped);
+                rows.stream()
+                        .filter(row -> !skippedLines.contains(row.line()))
+                        .forEach(row -> eventPublisher.publishEvent(new UserSignedUpEvent(row.email())));
+            }
+            return skipped;
+        });
+        Set<Long> taken = Set.copyOf(takenLines);
+        rows.stream()
+                .filter(row -> taken.contains(row.line()))
+                .forEach(row -> errors.add(new RowError(row.line(), row.email(), "User with this email already exists")));
+        log.debug("Loaded chunk of {} rows, {} emails already taken", rows.size(), taken.size());
+        return rows.size() - taken.size();
+    }
+
+    /**
+     * @return the rows with their passwords replaced by hashes
+     */
+    private List<Row> hash(List<Row> rows) {
+        List<Future<String>> hashes = rows.stream()
+                .map(row -> hashing.submit(() -> passwordEncoder.encode(row.password())))
+                .toList();
+        List<Row> hashed = new ArrayList<>(rows.size());
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = rows.get(i);
+                hashed.add(new Row(row.line(), row.email(), hashes.get(i).get(), row.role()));
+            }
+        } catch (InterruptedException e) {
+            hashes.forEach(hash -> hash.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            hashes.forEach(hash -> hash.cancel(true));
+            throw new IllegalStateException("Failed to hash imported passwords", e.getCause());
+        }
+        return hashed;
+    }
+
+    private record Row(long line, String email, String password, String role) {
+
+    }
+
+    private record Columns(int email, int password, int role, int count) {
+
+        static Columns of(String header) {
+            if (header == null) {
+                throw new InvalidImportException("The file is empty");
+            }
+            List<String> names;
+            try {
+                names = Csv.split(header).stream()
+                        .map(name -> name.strip().toLowerCase())
+                        .toList();
+            } catch (IllegalArgumentException e) {
+                throw new InvalidImportException("The header is not valid CSV");
+            }
+            int email = names.indexOf("email");
+            int password = names.indexOf("password");
+            if (email < 0 || password < 0) {
+                throw new InvalidImportException("The header must name an email and a password column");
+            }
+            int role = names.indexOf("role");
+            return new Columns(email, password, role, Math.max(Math.max(email, password), role) + 1);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.service;
+
+/**
+ * Published inside the signup transaction; listeners that talk to the outside world should run after commit.
+ */
+public record UserSignedUpEvent(String email) {
+}
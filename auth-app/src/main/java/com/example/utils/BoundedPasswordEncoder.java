@@ -0,0 +1,188 @@
+package com.example.utils;
+
+import com.example.exceptions.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the hashing of a {@link PasswordEncoder} on a fixed pool of threads with a bounded queue, so a
+ * burst of logins or signups can use at most that many cores instead of every request thread. When the
+ * queue is full the call fails at once with {@link PasswordHashingOverloadedException} rather than
+ * holding the request thread until the backlog clears.
+ * <p>
+ * Queue depth, time spent queued and rejections are published as {@code password.hashing.*} metrics.
+ * <p>
+ * Bulk work such as an import hashes through a {@link #share} of the pool, which waits for room instead
+ * of being rejected and holds only a bounded number of the threads and queue slots.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final Duration retryAfter;
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  Duration retryAfter, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.retryAfter = retryAfter;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        // shares put their tasks straight into the queue, which only live threads drain
+        executor.prestartAllCoreThreads();
+        Gauge.builder("password.hashing.queue", executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Threads currently hashing a password")
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("password.hashing.wait")
+                .description("Time a password hashing request spent queued")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("password.hashing.rejected")
+                .description("Password hashing requests rejected because the queue was full")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Returns an encoder that hashes on this pool with at most {@code maxConcurrent} of its passwords
+     * queued or hashing at a time. When the queue is full it waits for a free slot rather than throwing
+     * {@link PasswordHashingOverloadedException}. Kept well below the thread count, it leaves the rest of
+     * the threads to logins and signups however much work is given to it.
+     */
+    public PasswordEncoder share(int maxConcurrent) {
+        return new Share(maxConcurrent);
+    }
+
+    /**
+     * @return the number of hashing threads
+     */
+    public int threads() {
+        return executor.getCorePoolSize();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T run(Callable<T> hashing) {
+        Future<T> result;
+        try {
+            result = executor.submit(timed(hashing));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingOverloadedException("Too many concurrent sign-in requests, please retry later.", retryAfter);
+        }
+        return await(result);
+    }
+
+    private <T> Callable<T> timed(Callable<T> hashing) {
+        long queuedAt = System.nanoTime();
+        return () -> {
+            waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+            return hashing.call();
+        };
+    }
+
+    private <T> T await(Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private final class Share implements PasswordEncoder {
+
+        private final Semaphore permits;
+
+        Share(int maxConcurrent) {
+            this.permits = new Semaphore(maxConcurrent, true);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return run(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return run(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+
+        private <T> T run(Callable<T> hashing) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a password hashing slot", e);
+            }
+            try {
+                FutureTask<T> task = new FutureTask<>(timed(hashing));
+                try {
+                    executor.getQueue().put(task);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a password hashing slot", e);
+                }
+                if (executor.isShutdown() && executor.remove(task)) {
+                    throw new IllegalStateException("Password hashing pool is shut down");
+                }
+                return await(task);
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.utils;
+
+import com.example.verifier.ClaimsCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Bounded cache of already verified tokens for the {@link com.example.verifier.TokenVerifier}, keyed by
+ * the SHA-256 digest of the token. An entry lives until the token's {@code exp}, so a hit skips signature
+ * check and JSON parsing without ever extending a token's lifetime.
+ */
+public class CaffeineClaimsCache<T> implements ClaimsCache<T> {
+
+    private final Cache<String, Entry<T>> cache;
+
+    public CaffeineClaimsCache(long maxSize, MeterRegistry meterRegistry, String name) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiry<T>())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    @Override
+    public T get(String token) {
+        Entry<T> entry = cache.getIfPresent(digest(token));
+        return entry == null ? null : entry.claims();
+    }
+
+    @Override
+    public void put(String token, T claims, Instant expiresAt) {
+        cache.put(digest(token), new Entry<>(claims, expiresAt));
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record Entry<T>(T claims, Instant expiresAt) {
+    }
+
+    private static class ExpireAtTokenExpiry<T> implements Expiry<String, Entry<T>> {
+
+        @Override
+        public long expireAfterCreate(String key, Entry<T> value, long currentTime) {
+            long millisLeft = value.expiresAt().toEpochMilli() - Instant.now().toEpochMilli();
+            return Math.max(0, millisLeft) * 1_000_000;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry<T> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry<T> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.example.utils;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * EC P-256 keys for signing access tokens with ES256. One key signs, and every key of the ring is
+ * published in the JWKS. A new key can therefore be published before it starts signing, and a retired
+ * key stays verifiable until the last token it signed has expired.
+ * <p>
+ * An empty ring means access tokens are signed with the shared HS256 secret.
+ */
+public class JwtKeyRing {
+
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+    private static final int P256_FIELD_SIZE = 256;
+
+    private static final JwtKeyRing EMPTY = new JwtKeyRing(null, null, Map.of());
+
+    private final String activeKeyId;
+    private final PrivateKey activeKey;
+    private final Map<String, ECPublicKey> publicKeys;
+    private final String jwks;
+
+    private JwtKeyRing(String activeKeyId, PrivateKey activeKey, Map<String, ECPublicKey> publicKeys) {
+        this.activeKeyId = activeKeyId;
+        this.activeKey = activeKey;
+        this.publicKeys = publicKeys;
+        this.jwks = toJwks(publicKeys);
+    }
+
+    public static JwtKeyRing empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param publicKeys every published key by {@code kid}, including the active one, in JWKS order
+     * @throws IllegalArgumentException when a key id is not usable in a token header or the active
+     *                                  private key does not belong to the published key of the same id
+     */
+    public static JwtKeyRing of(String activeKeyId, PrivateKey activeKey, Map<String, ECPublicKey> publicKeys) {
+        publicKeys.keySet().forEach(JwtKeyRing::checkKeyId);
+        ECPublicKey activePublicKey = publicKeys.get(activeKeyId);
+        if (activePublicKey == null) {
+            throw new IllegalArgumentException("Public key of the active key " + activeKeyId + " is not in the key ring");
+        }
+        checkKeyPair(activeKeyId, activeKey, activePublicKey);
+        return new JwtKeyRing(activeKeyId, activeKey, Collections.unmodifiableMap(new LinkedHashMap<>(publicKeys)));
+    }
+
+    /**
+     * Ring with a single key generated in memory. Tokens it signs stop verifying after a restart
+     * and are only accepted by the node that issued them.
+     */
+    public static JwtKeyRing generate() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            KeyPair keyPair = generator.generateKeyPair();
+            String keyId = UUID.randomUUID().toString();
+            return of(keyId, keyPair.getPrivate(), Map.of(keyId, (ECPublicKey) keyPair.getPublic()));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("EC P-256 keys are not available", e);
+        }
+    }
+
+    /**
+     * Reads a Base64 encoded PKCS#8 EC private key.
+     */
+    public static PrivateKey parsePrivateKey(String base64Pkcs8) {
+        try {
+            return KeyFactory.getInstance("EC").generatePrivate(new PKCS8EncodedKeySpec(Base64.getMimeDecoder().decode(base64Pkcs8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Not an EC private key in PKCS#8 format", e);
+        }
+    }
+
+    /**
+     * Reads a Base64 encoded X.509 EC public key on the P-256 curve.
+     */
+    public static ECPublicKey parsePublicKey(String base64X509) {
+        try {
+            ECPublicKey key = (ECPublicKey) KeyFactory.getInstance("EC")
+                    .generatePublic(new X509EncodedKeySpec(Base64.getMimeDecoder().decode(base64X509)));
+            if (key.getParams().getCurve().getField().getFieldSize() != P256_FIELD_SIZE) {
+                throw new IllegalArgumentException("Only P-256 keys can sign ES256 tokens");
+            }
+            return key;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Not an EC public key in X.509 format", e);
+        }
+    }
+
+    public boolean isEmpty() {
+        return activeKey == null;
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    public PrivateKey activeKey() {
+        return activeKey;
+    }
+
+    /**
+     * @return the published key with the given id, or {@code null} when the ring has no such key
+     */
+    public ECPublicKey verificationKey(String keyId) {
+        return publicKeys.get(keyId);
+    }
+
+    /**
+     * Every published key by {@code kid}.
+     */
+    public Map<String, ECPublicKey> verificationKeys() {
+        return publicKeys;
+    }
+
+    /**
+     * JWK Set of all published keys, rendered once since the ring never changes.
+     */
+    public String jwks() {
+        return jwks;
+    }
+
+    private static void checkKeyId(String keyId) {
+        if (keyId == null || !KEY_ID.matcher(keyId).matches()) {
+            throw new IllegalArgumentException("Key id must be 1 to 64 letters, digits, '.', '_' or '-': " + keyId);
+        }
+    }
+
+    private static void checkKeyPair(String keyId, PrivateKey privateKey, ECPublicKey publicKey) {
+        try {
+            byte[] probe = keyId.getBytes(StandardCharsets.UTF_8);
+            Signature signer = Signature.getInstance("SHA256withECDSA");
+            signer.initSign(privateKey);
+            signer.update(probe);
+            byte[] signature = signer.sign();
+
+            Signature verifier = Signature.getInstance("SHA256withECDSA");
+            verifier.initVerify(publicKey);
+            verifier.update(probe);
+            if (!verifier.verify(signature)) {
+                throw new IllegalArgumentException("Private and public key of " + keyId + " do not match");
+            }
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Key " + keyId + " cannot sign ES256 tokens", e);
+        }
+    }
+
+    private static String toJwks(Map<String, ECPublicKey> publicKeys) {
+        Base64.Encoder base64Url = Base64.getUrlEncoder().withoutPadding();
+        StringBuilder json = new StringBuilder("{\"keys\":[");
+        boolean first = true;
+        for (Map.Entry<String, ECPublicKey> entry : publicKeys.entrySet()) {
+            if (!first) {
+                json.append(',');
+            }
+            ECPublicKey key = entry.getValue();
+            json.append("{\"kty\":\"EC\",\"crv\":\"P-256\",\"use\":\"sig\",\"alg\":\"ES256\",\"kid\":\"")
+                    .append(entry.getKey())
+                    .append("\",\"x\":\"").append(base64Url.encodeToString(coordinate(key.getW().getAffineX())))
+                    .append("\",\"y\":\"").append(base64Url.encodeToString(coordinate(key.getW().getAffineY())))
+                    .append("\"}");
+            first = false;
+        }
+        return json.append("]}").toString();
+    }
+
+    /**
+     * JWK coordinates are unsigned big-endian and exactly as long as the field, 32 bytes for P-256.
+     */
+    private static byte[] coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] coordinate = new byte[P256_FIELD_SIZE / 8];
+        int length = Math.min(bytes.length, coordinate.length);
+        System.arraycopy(bytes, bytes.length - length, coordinate, coordinate.length - length, length);
+        return coordinate;
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.utils;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Writes signed tokens without going through a claims map and a generic JSON serializer.
+ * The encoded header is computed once per key, the roles JSON fragment is cached per distinct
+ * authority set, and an access/refresh pair shares its issue time, subject and roles.
+ * <p>
+ * Roles are written as a {@code roles} array of names, or, when a {@link RoleRegistry} is given,
+ * as an {@code rm} bitmask of role ids. Authority sets the registry cannot encode fall back to names.
+ * Every token gets its own random {@code jti} so it can be revoked individually.
+ */
+class JwtTokenMinter {
+
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private static final int MAX_CACHED_ROLE_SETS = 256;
+
+    private final Map<Collection<? extends GrantedAuthority>, String> rolesFragments = new ConcurrentHashMap<>();
+
+    private final RoleRegistry roleMasks;
+
+    JwtTokenMinter(RoleRegistry roleMasks) {
+        this.roleMasks = roleMasks;
+    }
+
+    String mint(Signer signer, String subject, Collection<? extends GrantedAuthority> authorities, Duration lifetime) {
+        long issuedAt = System.currentTimeMillis();
+        String claimsPrefix = claimsPrefix(subject, authorities, issuedAt);
+        return sign(signer, claimsPrefix, issuedAt + lifetime.toMillis(), "");
+    }
+
+    /**
+     * @param refreshClaims extra JSON members written only into the refresh token, each starting with a comma
+     */
+    TokenPair mintPair(Signer accessSigner, Duration accessLifetime,
+                       Signer refreshSigner, Duration refreshLifetime,
+                       String subject, Collection<? extends GrantedAuthority> authorities,
+                       String refreshClaims) {
+        long issuedAt = System.currentTimeMillis();
+        String claimsPrefix = claimsPrefix(subject, authorities, issuedAt);
+        return new TokenPair(
+                sign(accessSigner, claimsPrefix, issuedAt + accessLifetime.toMillis(), ""),
+                sign(refreshSigner, claimsPrefix, issuedAt + refreshLifetime.toMillis(), refreshClaims));
+    }
+
+    private String claimsPrefix(String subject, Collection<? extends GrantedAuthority> authorities, long issuedAt) {
+        StringBuilder json = new StringBuilder(128)
+                .append('{')
+                .append(rolesFragment(authorities))
+                .append(",\"sub\":");
+        appendJsonString(json, subject);
+        return json.append(",\"iat\":").append(issuedAt / 1000)
+                .append(",\"exp\":")
+                .toString();
+    }
+
+    private String sign(Signer signer, String claimsPrefix, long expiresAt, String extraClaims) {
+        String claims = claimsPrefix + (expiresAt / 1000) + ",\"jti\":\"" + randomTokenId() + '"' + extraClaims + '}';
+        byte[] encodedHeader = signer.encodedHeader;
+        byte[] encodedClaims = BASE64_URL.encode(claims.getBytes(StandardCharsets.UTF_8));
+        byte[] encodedSignature = BASE64_URL.encode(signer.sign(encodedHeader, encodedClaims));
+
+        byte[] token = new byte[encodedHeader.length + encodedClaims.length + 1 + encodedSignature.length];
+        System.arraycopy(encodedHeader, 0, token, 0, encodedHeader.length);
+        System.arraycopy(encodedClaims, 0, token, encodedHeader.length, encodedClaims.length);
+        token[encodedHeader.length + encodedClaims.length] = '.';
+        System.arraycopy(encodedSignature, 0, token, token.length - encodedSignature.length, encodedSignature.length);
+        return new String(token, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Version 4 UUID drawn from {@link ThreadLocalRandom}; token ids only need to be unique,
+     * not unpredictable, since the signature already protects them.
+     */
+    private static UUID randomTokenId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long msb = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long lsb = (random.nextLong() & ~(0x3L << 62)) | (0x2L << 62);
+        return new UUID(msb, lsb);
+    }
+
+    private String rolesFragment(Collection<? extends GrantedAuthority> authorities) {
+        String fragment = rolesFragments.get(authorities);
+        if (fragment != null) {
+            return fragment;
+        }
+        int mask = roleMasks == null ? RoleRegistry.NOT_ENCODABLE : roleMasks.maskOf(authorities);
+        fragment = mask == RoleRegistry.NOT_ENCODABLE ? rolesArray(authorities) : "\"rm\":" + mask;
+        if (rolesFragments.size() < MAX_CACHED_ROLE_SETS) {
+            rolesFragments.putIfAbsent(authorities instanceof Set ? Set.copyOf(authorities) : List.copyOf(authorities), fragment);
+        }
+        return fragment;
+    }
+
+    private static String rolesArray(Collection<? extends GrantedAuthority> authorities) {
+        StringBuilder json = new StringBuilder("\"roles\":[");
+        boolean first = true;
+        for (GrantedAuthority authority : authorities) {
+            if (!first) {
+                json.append(',');
+            }
+            appendJsonString(json, authority.getAuthority());
+            first = false;
+        }
+        return json.append(']').toString();
+    }
+
+    private static void appendJsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Signs {@code header.claims} with one key. The encoded header, which names the algorithm and,
+     * for key ring keys, the {@code kid}, is computed once per key.
+     */
+    abstract static class Signer {
+
+        private final byte[] encodedHeader;
+
+        private Signer(String header) {
+            this.encodedHeader = (BASE64_URL.encodeToString(header.getBytes(StandardCharsets.UTF_8)) + ".")
+                    .getBytes(StandardCharsets.US_ASCII);
+        }
+
+        static Signer hmac(SecretKey key) {
+            return new HmacSigner(key);
+        }
+
+        static Signer ecdsa(String keyId, PrivateKey key) {
+            return new EcdsaSigner(keyId, key);
+        }
+
+        abstract byte[] sign(byte[] encodedHeader, byte[] encodedClaims);
+    }
+
+    /**
+     * HMAC-SHA256 over {@code header.claims}. {@link Mac} is not thread-safe, so each thread
+     * keeps its own initialized instance for the key.
+     */
+    private static class HmacSigner extends Signer {
+
+        private final ThreadLocal<Mac> mac;
+
+        HmacSigner(SecretKey key) {
+            super("{\"alg\":\"HS256\"}");
+            this.mac = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac instance = Mac.getInstance("HmacSHA256");
+                    instance.init(key);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("HmacSHA256 is not available", e);
+                }
+            });
+        }
+
+        @Override
+        byte[] sign(byte[] encodedHeader, byte[] encodedClaims) {
+            Mac instance = mac.get();
+            instance.update(encodedHeader);
+            instance.update(encodedClaims);
+            return instance.doFinal();
+        }
+    }
+
+    /**
+     * ECDSA P-256 with SHA-256. The P1363 variant already produces the fixed size {@code R || S}
+     * signature JWS expects, so there is no DER to transcode. Like {@link Mac}, {@link Signature}
+     * is not thread-safe and is kept per thread; it resets itself after every signature.
+     */
+    private static class EcdsaSigner extends Signer {
+
+        private final ThreadLocal<Signature> signature;
+
+        EcdsaSigner(String keyId, PrivateKey key) {
+            super("{\"alg\":\"ES256\",\"kid\":\"" + keyId + "\"}");
+            this.signature = ThreadLocal.withInitial(() -> {
+                try {
+                    Signature instance = Signature.getInstance("SHA256withECDSAinP1363Format");
+                    instance.initSign(key);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("SHA256withECDSA is not available", e);
+                }
+            });
+        }
+
+        @Override
+        byte[] sign(byte[] encodedHeader, byte[] encodedClaims) {
+            Signature instance = signature.get();
+            try {
+                instance.update(encodedHeader);
+                instance.update(encodedClaims);
+                return instance.sign();
+            } catch (SignatureException e) {
+                throw new IllegalStateException("Could not sign the token", e);
+            }
+        }
+    }
+}
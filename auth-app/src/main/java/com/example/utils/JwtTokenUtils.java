@@ -0,0 +1,184 @@
+package com.example.utils;
+
+import com.example.verifier.KeySource;
+import com.example.verifier.TokenVerificationException;
+import com.example.verifier.TokenVerifier;
+import com.example.verifier.VerificationKey;
+import com.example.verifier.VerifiedToken;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.bind.DatatypeConverter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class JwtTokenUtils {
+
+    private final RoleRegistry roleRegistry;
+
+    private final JwtKeyRing keyRing;
+
+    private JwtTokenMinter tokenMinter = new JwtTokenMinter(null);
+
+    private JwtTokenMinter.Signer accessSigner;
+
+    private JwtTokenMinter.Signer refreshSigner;
+
+    /**
+     * Keys access tokens are verified with, shared with the cached verifier of the JWT filter.
+     */
+    @Getter
+    private KeySource accessKeySource;
+
+    /*
+     * Verifiers are built once when the key is set and are immutable, so a single instance
+     * is shared by all request threads.
+     */
+    private TokenVerifier<VerifiedToken> accessTokenVerifier;
+
+    private TokenVerifier<VerifiedToken> refreshTokenVerifier;
+
+    /**
+     * Once the key ring has keys, HS256 access tokens signed with the old secret are only accepted when they
+     * expire by this instant; {@code null} accepts none.
+     */
+    private Instant hs256AcceptedUntil;
+
+    @Setter
+    @Value("${jwt.lifetime}")
+    private Duration jwtLifetime;
+
+    @Setter
+    @Value("${jwt.refreshLifetime}")
+    private Duration jwtRefreshLifetime;
+
+    /**
+     * When enabled, roles are minted as an {@code rm} bitmask of role ids instead of a {@code roles}
+     * array of names. Both formats are always accepted when reading tokens.
+     */
+    @Value("${jwt.compact-roles:false}")
+    public void setCompactRoles(boolean compactRoles) {
+        this.tokenMinter = new JwtTokenMinter(compactRoles ? roleRegistry : null);
+    }
+
+    /**
+     * Access tokens are signed with this secret unless the key ring has keys, in which case they are
+     * signed with ES256 and the secret only verifies HS256 tokens issued before the switch, see
+     * {@link #setHs256AcceptedUntil}.
+     */
+    @Value("${jwt.secret}")
+    public void setSecretKey(String secretKey) {
+        SecretKey accessKey = toSigningKey(secretKey);
+        this.accessSigner = keyRing.isEmpty()
+                ? JwtTokenMinter.Signer.hmac(accessKey)
+                : JwtTokenMinter.Signer.ecdsa(keyRing.activeKeyId(), keyRing.activeKey());
+        this.accessKeySource = KeySource.hmacSha256(accessKey.getEncoded())
+                .or(KeySource.of(keyRing.verificationKeys().entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, key -> VerificationKey.es256(key.getValue())))));
+        this.accessTokenVerifier = TokenVerifier.builder(accessKeySource).build();
+    }
+
+    /**
+     * Set it to the time of the switch to ES256 plus {@code jwt.lifetime}, so tokens issued before the switch
+     * keep working while nobody holding the secret can mint tokens that outlive it.
+     */
+    @Value("${jwt.signing.hs256-accepted-until:}")
+    public void setHs256AcceptedUntil(String hs256AcceptedUntil) {
+        this.hs256AcceptedUntil = hs256AcceptedUntil == null || hs256AcceptedUntil.isBlank()
+                ? null : Instant.parse(hs256AcceptedUntil);
+    }
+
+    @Value("${jwt.refresh}")
+    public void setSecretKeyForRefresh(String secretKeyForRefresh) {
+        SecretKey refreshKey = toSigningKey(secretKeyForRefresh);
+        this.refreshSigner = JwtTokenMinter.Signer.hmac(refreshKey);
+        this.refreshTokenVerifier = TokenVerifier.builder(KeySource.hmacSha256(refreshKey.getEncoded())).build();
+    }
+
+    public String generateToken(UserDetails userDetails) {
+        return tokenMinter.mint(accessSigner, userDetails.getUsername(), userDetails.getAuthorities(), jwtLifetime);
+    }
+
+    public String generateRefreshToken(UserDetails userDetails) {
+        return tokenMinter.mint(refreshSigner, userDetails.getUsername(), userDetails.getAuthorities(), jwtRefreshLifetime);
+    }
+
+    /**
+     * Mints the access and refresh token of a login in one pass, sharing issue time, subject and roles.
+     * The refresh token also carries its family ({@code fid}) and generation ({@code gen}).
+     */
+    public TokenPair generateTokenPair(UserDetails userDetails, UUID familyId, int generation) {
+        return tokenMinter.mintPair(accessSigner, jwtLifetime, refreshSigner, jwtRefreshLifetime,
+                userDetails.getUsername(), userDetails.getAuthorities(),
+                ",\"fid\":\"" + familyId + "\",\"gen\":" + generation);
+    }
+
+    public String getUsername(String token) {
+        return getAllClaimsFromToken(token).subject();
+    }
+
+    public List<String> getRoles(String token) {
+        return rolesOf(getAllClaimsFromToken(token));
+    }
+
+    private List<String> rolesOf(VerifiedToken token) {
+        Long roleMask = token.longClaim("rm");
+        if (roleMask != null) {
+            return roleRegistry.namesOf(roleMask.intValue());
+        }
+        return token.stringListClaim("roles");
+    }
+
+    /**
+     * @throws IllegalArgumentException                         when the token is {@code null} or empty
+     * @throws com.example.verifier.TokenVerificationException when the token is not a valid access token
+     */
+    public VerifiedToken getAllClaimsFromToken(String token) {
+        return checkSigningCutoff(accessTokenVerifier.verify(token));
+    }
+
+    /**
+     * Rejects an HS256 access token verified with the old secret after the switch to ES256 unless it
+     * expires by {@code jwt.signing.hs256-accepted-until}. Applied before verified claims are cached, so
+     * a cached token cannot outlive the cutoff either.
+     *
+     * @throws TokenVerificationException when the token is not accepted any more
+     */
+    public VerifiedToken checkSigningCutoff(VerifiedToken token) {
+        if (!keyRing.isEmpty() && VerificationKey.HS256.equals(token.algorithm())
+                && (hs256AcceptedUntil == null || token.expiresAt().isAfter(hs256AcceptedUntil))) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.UNKNOWN_KEY,
+                    "HS256 tokens are accepted only when they expire by " + hs256AcceptedUntil);
+        }
+        return token;
+    }
+
+    /**
+     * @throws IllegalArgumentException                         when the token is {@code null} or empty
+     * @throws com.example.verifier.TokenVerificationException when the token is not a valid refresh token
+     */
+    public VerifiedToken getAllClaimsFromRefreshToken(String token) {
+        return refreshTokenVerifier.verify(token);
+    }
+
+    /**
+     * Secrets are configured as Base64 text and decoded leniently, the way jjwt decodes a String key,
+     * so tokens signed before the keys were pre-built keep verifying.
+     */
+    private static SecretKey toSigningKey(String secret) {
+        return new SecretKeySpec(DatatypeConverter.parseBase64Binary(secret), "HmacSHA256");
+    }
+
+}
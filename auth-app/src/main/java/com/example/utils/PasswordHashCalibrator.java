@@ -0,0 +1,76 @@
+package com.example.utils;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks password hashing parameters by timing hashes on the current machine, so a hash costs about the
+ * same wall time on every node instead of the same work factor.
+ */
+public final class PasswordHashCalibrator {
+
+    static final int MAX_BCRYPT_STRENGTH = 31;
+    static final int MAX_ARGON2_ITERATIONS = 64;
+
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+    private static final int SAMPLE_RUNS = 3;
+
+    private PasswordHashCalibrator() {
+    }
+
+    /**
+     * @return the highest BCrypt strength, not below {@code minStrength}, whose hash takes at most {@code target}
+     */
+    public static int bcryptStrength(Duration target, int minStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        return bcryptStrength(target, minStrength, measure(() -> encoder.encode(SAMPLE_PASSWORD)));
+    }
+
+    /**
+     * Each BCrypt strength step doubles the work, so the time of one step is extrapolated instead of
+     * hashing at every candidate strength.
+     */
+    static int bcryptStrength(Duration target, int minStrength, Duration atMinStrength) {
+        int strength = minStrength;
+        long nanos = Math.max(1, atMinStrength.toNanos());
+        while (strength < MAX_BCRYPT_STRENGTH && nanos * 2 <= target.toNanos()) {
+            strength++;
+            nanos *= 2;
+        }
+        return strength;
+    }
+
+    /**
+     * @return the highest Argon2 iteration count, not below {@code minIterations}, whose hash with the given
+     * memory (KiB) and parallelism takes at most {@code target}
+     */
+    public static int argon2Iterations(Duration target, int memory, int parallelism, int minIterations) {
+        Argon2PasswordEncoder encoder = new Argon2PasswordEncoder(16, 32, parallelism, memory, minIterations);
+        return argon2Iterations(target, minIterations, measure(() -> encoder.encode(SAMPLE_PASSWORD)));
+    }
+
+    /**
+     * Argon2 time grows linearly with iterations once the memory is fixed.
+     */
+    static int argon2Iterations(Duration target, int minIterations, Duration atMinIterations) {
+        long perIteration = Math.max(1, atMinIterations.toNanos() / minIterations);
+        long iterations = target.toNanos() / perIteration;
+        return (int) Math.max(minIterations, Math.min(MAX_ARGON2_ITERATIONS, iterations));
+    }
+
+    /**
+     * Best of a few runs after a warm-up, since noise only ever makes a hash slower.
+     */
+    private static Duration measure(Runnable hashing) {
+        hashing.run();
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLE_RUNS; i++) {
+            long start = System.nanoTime();
+            hashing.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return Duration.ofNanos(best);
+    }
+}
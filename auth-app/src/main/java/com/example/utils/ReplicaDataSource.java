@@ -0,0 +1,172 @@
+package com.example.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out connections to read replicas, round robin over the replicas that answered the last lag check
+ * within {@code maxLag}, and to the primary when none did or when a replica refuses a connection. Replicas
+ * are checked every {@code checkInterval} by running {@code lagQuery}, which returns the replica's lag in
+ * seconds; a replica counts as unavailable until its first check passes.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+
+    /**
+     * Seconds since the last replayed transaction, or 0 when everything received has been replayed, so an
+     * idle primary does not make its replicas look behind. A server that is not in recovery reports 0.
+     */
+    public static final String POSTGRES_LAG_QUERY = "SELECT CASE " +
+            "WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService checker;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryFallbacks;
+
+    /**
+     * @param checkInterval zero to leave the checks to the caller of {@link #checkReplicas}
+     */
+    public ReplicaDataSource(DataSource primary, List<DataSource> replicas, String lagQuery, Duration maxLag,
+                             Duration checkInterval, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.primaryFallbacks = Counter.builder("datasource.replicas.fallbacks")
+                .description("Read-only connections taken from the primary because no replica was available")
+                .register(meterRegistry);
+        Gauge.builder("datasource.replicas.available", this, ReplicaDataSource::availableReplicas)
+                .description("Replicas that passed their last lag check")
+                .register(meterRegistry);
+        if (this.replicas.isEmpty() || checkInterval.isZero()) {
+            this.checker = null;
+        } else {
+            this.checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-lag-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    /**
+     * Picks a replica like {@link #getConnection()} and passes the credentials through. Pools that do not
+     * support per-call credentials, like Hikari, throw {@link SQLFeatureNotSupportedException}, which is
+     * passed on without marking the replica unavailable.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    private Connection connect(Connector connector) throws SQLException {
+        int size = replicas.size();
+        int start = size == 0 ? 0 : Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.available) {
+                continue;
+            }
+            try {
+                return connector.connect(replica.dataSource);
+            } catch (SQLFeatureNotSupportedException e) {
+                throw e;
+            } catch (SQLException e) {
+                replica.available = false;
+                log.warn("Replica {} refused a connection, reading from the others until it passes a lag check",
+                        replica.dataSource, e);
+            }
+        }
+        if (size > 0) {
+            primaryFallbacks.increment();
+        }
+        return connector.connect(primary);
+    }
+
+    public int availableReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.available).count();
+    }
+
+    /**
+     * Runs the lag query on every replica and marks each one available when it answers within
+     * {@code maxLag}.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean available;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                double lagSeconds = resultSet.next() ? resultSet.getDouble(1) : Double.MAX_VALUE;
+                available = lagSeconds <= maxLagSeconds;
+                if (!available && replica.available) {
+                    log.warn("Replica {} is {} s behind, reading from the others", replica.dataSource, lagSeconds);
+                }
+            } catch (SQLException | RuntimeException e) {
+                available = false;
+                if (replica.available) {
+                    log.warn("Replica {} failed its lag check, reading from the others", replica.dataSource, e);
+                }
+            }
+            if (available && !replica.available) {
+                log.info("Replica {} is available", replica.dataSource);
+            }
+            replica.available = available;
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface Connector {
+
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean available;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.utils;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Open-addressing hash set of revoked token ids, stored as three longs per slot
+ * ({@code msb}, {@code lsb}, expiry in epoch seconds) so it holds no per-entry objects.
+ * An optional Bloom filter in front answers most lookups for tokens that were never revoked
+ * without touching the table.
+ * <p>
+ * Lookups are lock-free unless they race with a writer. Entries are never removed one by one:
+ * {@link #removeExpired(long)} rebuilds the table from the entries that are still live.
+ */
+public class RevokedTokenSet {
+
+    private static final int SLOT = 3;
+    private static final int MIN_CAPACITY = 64;
+    private static final int BLOOM_BITS_PER_SLOT = 8;
+    private static final int BLOOM_HASHES = 3;
+
+    private final StampedLock lock = new StampedLock();
+    private final boolean bloomFilterEnabled;
+
+    private long[] slots;
+    private long[] bloomFilter;
+    private int size;
+
+    public RevokedTokenSet(boolean bloomFilterEnabled) {
+        this.bloomFilterEnabled = bloomFilterEnabled;
+        allocate(MIN_CAPACITY);
+    }
+
+    public boolean contains(UUID tokenId, long nowSeconds) {
+        long msb = tokenId.getMostSignificantBits();
+        long lsb = tokenId.getLeastSignificantBits();
+        long stamp = lock.tryOptimisticRead();
+        boolean found = lookup(slots, bloomFilter, msb, lsb, nowSeconds);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = lookup(slots, bloomFilter, msb, lsb, nowSeconds);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return found;
+    }
+
+    public void add(UUID tokenId, long expiresAtSeconds) {
+        long stamp = lock.writeLock();
+        try {
+            if ((size + 1) * 2 > capacity()) {
+                rehash(capacity() * 2, Long.MIN_VALUE);
+            }
+            insert(tokenId.getMostSignificantBits(), tokenId.getLeastSignificantBits(), Math.max(1, expiresAtSeconds));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Drops entries whose token has expired and shrinks the table when it became mostly empty.
+     *
+     * @return number of entries removed
+     */
+    public int removeExpired(long nowSeconds) {
+        long stamp = lock.writeLock();
+        try {
+            int before = size;
+            int live = 0;
+            for (int i = 0; i < slots.length; i += SLOT) {
+                if (slots[i + 2] > nowSeconds) {
+                    live++;
+                }
+            }
+            int capacity = MIN_CAPACITY;
+            while (live * 2 > capacity) {
+                capacity *= 2;
+            }
+            rehash(capacity, nowSeconds);
+            return before - size;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private static boolean lookup(long[] slots, long[] bloomFilter, long msb, long lsb, long nowSeconds) {
+        long hash = hash(msb, lsb);
+        if (bloomFilter != null && !mightContain(bloomFilter, hash)) {
+            return false;
+        }
+        int capacity = slots.length / SLOT;
+        int index = (int) hash & (capacity - 1);
+        for (int probe = 0; probe < capacity; probe++) {
+            int slot = index * SLOT;
+            long expiresAt = slots[slot + 2];
+            if (expiresAt == 0) {
+                return false;
+            }
+            if (slots[slot] == msb && slots[slot + 1] == lsb) {
+                return expiresAt > nowSeconds;
+            }
+            index = (index + 1) & (capacity - 1);
+        }
+        return false;
+    }
+
+    private void insert(long msb, long lsb, long expiresAtSeconds) {
+        long hash = hash(msb, lsb);
+        int capacity = capacity();
+        int index = (int) hash & (capacity - 1);
+        while (true) {
+            int slot = index * SLOT;
+            if (slots[slot + 2] == 0) {
+                slots[slot] = msb;
+                slots[slot + 1] = lsb;
+                slots[slot + 2] = expiresAtSeconds;
+                size++;
+                break;
+            }
+            if (slots[slot] == msb && slots[slot + 1] == lsb) {
+                slots[slot + 2] = Math.max(slots[slot + 2], expiresAtSeconds);
+                break;
+            }
+            index = (index + 1) & (capacity - 1);
+        }
+        if (bloomFilter != null) {
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = bloomBit(bloomFilter, hash, i);
+                bloomFilter[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    private void rehash(int capacity, long nowSeconds) {
+        long[] old = slots;
+        allocate(capacity);
+        for (int i = 0; i < old.length; i += SLOT) {
+            if (old[i + 2] != 0 && old[i + 2] > nowSeconds) {
+                insert(old[i], old[i + 1], old[i + 2]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity * SLOT];
+        bloomFilter = bloomFilterEnabled ? new long[capacity * BLOOM_BITS_PER_SLOT / Long.SIZE] : null;
+        size = 0;
+    }
+
+    private int capacity() {
+        return slots.length / SLOT;
+    }
+
+    private static boolean mightContain(long[] bloomFilter, long hash) {
+        for (int i = 0; i < BLOOM_HASHES; i++) {
+            int bit = bloomBit(bloomFilter, hash, i);
+            if ((bloomFilter[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int bloomBit(long[] bloomFilter, long hash, int i) {
+        int combined = (int) hash + i * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % (bloomFilter.length * Long.SIZE);
+    }
+
+    private static long hash(long msb, long lsb) {
+        long h = msb ^ Long.rotateLeft(lsb, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+}
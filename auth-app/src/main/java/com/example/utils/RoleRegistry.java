@@ -0,0 +1,119 @@
+package com.example.utils;
+
+import com.example.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of the {@code roles} table. A role with id {@code n} owns bit {@code n - 1}
+ * of a role mask, so ids 1..31 can be encoded. Authorities are created once per role, and the
+ * lists handed out for a mask or a list of names are shared between callers.
+ */
+public class RoleRegistry {
+
+    public static final int NOT_ENCODABLE = -1;
+
+    private static final int MAX_CACHED_NAME_LISTS = 256;
+
+    private final Map<String, Integer> bitsByName;
+    private final Map<String, GrantedAuthority> authoritiesByName;
+    private final GrantedAuthority[] authoritiesByBit = new GrantedAuthority[Integer.SIZE - 1];
+    private final int knownMask;
+    private final Map<Integer, List<GrantedAuthority>> authoritiesByMask = new ConcurrentHashMap<>();
+    private final Map<List<String>, List<GrantedAuthority>> authoritiesByNames = new ConcurrentHashMap<>();
+
+    private RoleRegistry(Iterable<Role> roles) {
+        Map<String, Integer> bits = new HashMap<>();
+        Map<String, GrantedAuthority> authorities = new HashMap<>();
+        int mask = 0;
+        for (Role role : roles) {
+            GrantedAuthority authority = new SimpleGrantedAuthority(role.getName());
+            authorities.put(role.getName(), authority);
+            int bit = role.getId() - 1;
+            if (bit >= 0 && bit < authoritiesByBit.length) {
+                bits.put(role.getName(), bit);
+                authoritiesByBit[bit] = authority;
+                mask |= 1 << bit;
+            }
+        }
+        this.bitsByName = Map.copyOf(bits);
+        this.authoritiesByName = Map.copyOf(authorities);
+        this.knownMask = mask;
+    }
+
+    public static RoleRegistry of(Iterable<Role> roles) {
+        return new RoleRegistry(roles);
+    }
+
+    /**
+     * Returns the mask of the given authorities, or {@link #NOT_ENCODABLE} when one of them
+     * has no bit in this registry.
+     */
+    public int maskOf(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Integer bit = bitsByName.get(authority.getAuthority());
+            if (bit == null) {
+                return NOT_ENCODABLE;
+            }
+            mask |= 1 << bit;
+        }
+        return mask;
+    }
+
+    public boolean knows(String name) {
+        return authoritiesByName.containsKey(name);
+    }
+
+    /**
+     * Whether {@code mask} names only roles of this registry, so {@link #authoritiesOf(int)} loses none.
+     */
+    public boolean encodes(int mask) {
+        return mask != NOT_ENCODABLE && (mask & ~knownMask) == 0;
+    }
+
+    /**
+     * Shared authority list for a mask. Bits of unknown roles are ignored.
+     */
+    public List<GrantedAuthority> authoritiesOf(int mask) {
+        return authoritiesByMask.computeIfAbsent(mask & knownMask, known -> {
+            List<GrantedAuthority> authorities = new ArrayList<>(Integer.bitCount(known));
+            for (int bit = 0; bit < authoritiesByBit.length; bit++) {
+                if ((known & (1 << bit)) != 0) {
+                    authorities.add(authoritiesByBit[bit]);
+                }
+            }
+            return List.copyOf(authorities);
+        });
+    }
+
+    /**
+     * Shared authority list for role names, reusing the registry's authority instances.
+     */
+    public List<GrantedAuthority> authoritiesOf(List<String> names) {
+        List<GrantedAuthority> authorities = authoritiesByNames.get(names);
+        if (authorities != null) {
+            return authorities;
+        }
+        authorities = names.stream()
+                .map(name -> authoritiesByName.getOrDefault(name, new SimpleGrantedAuthority(name)))
+                .toList();
+        if (authoritiesByNames.size() < MAX_CACHED_NAME_LISTS) {
+            authoritiesByNames.putIfAbsent(List.copyOf(names), authorities);
+        }
+        return authorities;
+    }
+
+    public List<String> namesOf(int mask) {
+        return authoritiesOf(mask).stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.utils;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-key event counts over a sliding window, approximated from the counts of the current and the previous
+ * fixed window: the previous count is weighted by how much of it still overlaps the sliding window.
+ * <p>
+ * Keys are spread over lock stripes so unrelated keys rarely contend. Each stripe holds at most its share of
+ * {@code maxKeys}, evicting the least recently used key first, and drops keys not seen for two windows,
+ * whose count has decayed to zero anyway.
+ */
+public class SlidingWindowCounter {
+
+    private static final int STRIPES = 64;
+
+    private final long windowMillis;
+    private final Stripe[] stripes;
+
+    public SlidingWindowCounter(Duration window, int maxKeys) {
+        this.windowMillis = window.toMillis();
+        int keysPerStripe = Math.max(1, maxKeys / STRIPES);
+        this.stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe(keysPerStripe);
+        }
+    }
+
+    /**
+     * @return the estimated number of events of {@code key} in the window ending at {@code nowMillis}
+     */
+    public double count(String key, long nowMillis) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.evictStale(nowMillis - 2 * windowMillis);
+            Window window = stripe.windows.get(key);
+            return window == null ? 0 : window.estimate(nowMillis, windowMillis);
+        }
+    }
+
+    /**
+     * Records an event of {@code key}.
+     *
+     * @return the estimated number of events in the window, including this one
+     */
+    public double increment(String key, long nowMillis) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.evictStale(nowMillis - 2 * windowMillis);
+            Window window = stripe.windows.computeIfAbsent(key, k -> new Window());
+            window.roll(nowMillis, windowMillis);
+            window.current++;
+            window.lastSeen = nowMillis;
+            return window.estimate(nowMillis, windowMillis);
+        }
+    }
+
+    public void reset(String key) {
+        Stripe stripe = stripeOf(key);
+        synchronized (stripe) {
+            stripe.windows.remove(key);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.windows.size();
+            }
+        }
+        return size;
+    }
+
+    private Stripe stripeOf(String key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+
+        private final Map<String, Window> windows;
+
+        Stripe(int maxKeys) {
+            this.windows = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Window> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        /**
+         * Entries are in access order, so stale keys are found at the head.
+         */
+        void evictStale(long seenBefore) {
+            var iterator = windows.values().iterator();
+            while (iterator.hasNext() && iterator.next().lastSeen < seenBefore) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Window {
+
+        private long start;
+        private int previous;
+        private int current;
+        private long lastSeen;
+
+        void roll(long nowMillis, long windowMillis) {
+            long windowStart = nowMillis - nowMillis % windowMillis;
+            if (windowStart == start) {
+                return;
+            }
+            previous = windowStart - start == windowMillis ? current : 0;
+            current = 0;
+            start = windowStart;
+        }
+
+        double estimate(long nowMillis, long windowMillis) {
+            long windowStart = nowMillis - nowMillis % windowMillis;
+            if (windowStart == start) {
+                double previousWeight = 1 - (double) (nowMillis - start) / windowMillis;
+                return previous * previousWeight + current;
+            }
+            if (windowStart - start == windowMillis) {
+                double previousWeight = 1 - (double) (nowMillis - windowStart) / windowMillis;
+                return current * previousWeight;
+            }
+            return 0;
+        }
+    }
+}
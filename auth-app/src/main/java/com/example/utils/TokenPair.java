@@ -0,0 +1,7 @@
+package com.example.utils;
+
+public record TokenPair(
+        String token,
+        String refreshToken) {
+
+}
@@ -0,0 +1,35 @@
+package com.example.utils;
+
+import com.example.verifier.VerifiedToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @param tokenId the token's {@code jti}, or {@code null} for tokens issued before token ids were added
+ */
+public record VerifiedClaims(
+        UUID tokenId,
+        String username,
+        List<GrantedAuthority> authorities,
+        Instant expiresAt) {
+
+    /**
+     * Reads roles from the {@code rm} bitmask or the {@code roles} array, whichever the token has,
+     * into authority lists shared through the registry.
+     */
+    public static VerifiedClaims from(VerifiedToken token, RoleRegistry roleRegistry) {
+        Long roleMask = token.longClaim("rm");
+        List<GrantedAuthority> authorities;
+        if (roleMask != null) {
+            authorities = roleRegistry.authoritiesOf(roleMask.intValue());
+        } else {
+            List<String> roles = token.stringListClaim("roles");
+            authorities = roles == null ? List.of() : roleRegistry.authoritiesOf(roles);
+        }
+        String tokenId = token.tokenId();
+        return new VerifiedClaims(tokenId == null ? null : UUID.fromString(tokenId), token.subject(), authorities, token.expiresAt());
+    }
+}
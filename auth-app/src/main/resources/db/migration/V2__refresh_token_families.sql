@@ -0,0 +1,12 @@
+CREATE TABLE refresh_token_families
+(
+    id         UUID                     NOT NULL,
+    user_id    BIGINT                   NOT NULL,
+    generation INT                      NOT NULL DEFAULT 0,
+    revoked    BOOLEAN                  NOT NULL DEFAULT FALSE,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (id),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_refresh_token_families_user_id ON refresh_token_families (user_id);
@@ -0,0 +1,2 @@
+-- Prefixed hashes ({bcrypt}..., {argon2}...) do not fit the original 80 characters
+ALTER TABLE users ALTER COLUMN password TYPE VARCHAR(255);
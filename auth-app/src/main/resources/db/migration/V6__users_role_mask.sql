@@ -0,0 +1,28 @@
+-- Roles of each user as a bitmask, role id n owning bit n - 1, so authentication reads them from users
+-- alone. Kept in sync with users_roles by a trigger; -1 marks a user holding a role id the mask cannot fit.
+ALTER TABLE users ADD COLUMN role_mask INTEGER NOT NULL DEFAULT 0;
+
+CREATE FUNCTION role_mask_of(owner_id BIGINT) RETURNS INTEGER AS $$
+    SELECT CASE WHEN bool_or(role_id NOT BETWEEN 1 AND 31) THEN -1
+                ELSE COALESCE(bit_or(1 << (role_id - 1)), 0) END
+    FROM users_roles
+    WHERE user_id = owner_id
+$$ LANGUAGE sql STABLE;
+
+CREATE FUNCTION sync_role_mask() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP <> 'INSERT' THEN
+        UPDATE users SET role_mask = role_mask_of(OLD.user_id) WHERE id = OLD.user_id;
+    END IF;
+    IF TG_OP <> 'DELETE' THEN
+        UPDATE users SET role_mask = role_mask_of(NEW.user_id) WHERE id = NEW.user_id;
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER users_roles_sync_role_mask
+    AFTER INSERT OR UPDATE OR DELETE ON users_roles
+    FOR EACH ROW EXECUTE FUNCTION sync_role_mask();
+
+UPDATE users SET role_mask = role_mask_of(id);
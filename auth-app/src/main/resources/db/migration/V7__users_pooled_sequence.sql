@@ -0,0 +1,3 @@
+-- Hibernate reserves user ids 50 at a time from this sequence (allocationSize of User.id). Rows inserted
+-- with the column default still take a single fresh value, which no reserved block contains.
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
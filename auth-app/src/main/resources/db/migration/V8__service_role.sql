@@ -0,0 +1,4 @@
+-- Role for other services calling the token introspection endpoint; it gets the next id and so its own
+-- role_mask bit.
+INSERT INTO roles(name)
+VALUES ('ROLE_SERVICE');
@@ -0,0 +1,80 @@
+package com.example.benchmark;
+
+import com.example.utils.JwtKeyRing;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.RoleRegistry;
+import com.example.verifier.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the per-call jjwt setup that {@link JwtTokenUtils} used to do (String secret, new parser
+ * on every call) with the prebuilt keys and the auth-verifier {@code TokenVerifier} it now uses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenUtilsBenchmark {
+
+    private static final String SECRET = "rtynRfS7mB3sL9tY6iG2hU1x7g45adA5vCz09kwK3yJ6uM5";
+
+    private JwtTokenUtils jwtTokenUtils;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtils = new JwtTokenUtils(RoleRegistry.of(List.of()), JwtKeyRing.empty());
+        jwtTokenUtils.setSecretKey(SECRET);
+        jwtTokenUtils.setSecretKeyForRefresh(SECRET);
+        jwtTokenUtils.setJwtLifetime(Duration.ofMinutes(60));
+        jwtTokenUtils.setJwtRefreshLifetime(Duration.ofDays(30));
+        userDetails = new User("user@gmail.com", "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        token = jwtTokenUtils.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Claims parseWithNewParserPerCall() {
+        return Jwts.parser()
+                .setSigningKey(SECRET)
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public VerifiedToken parseWithTokenVerifier() {
+        return jwtTokenUtils.getAllClaimsFromToken(token);
+    }
+
+    @Benchmark
+    public String signWithStringSecret() {
+        Date issuedDate = new Date();
+        return Jwts.builder()
+                .setClaims(new HashMap<>(Map.of("roles", List.of("ROLE_USER"))))
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(issuedDate)
+                .setExpiration(new Date(issuedDate.getTime() + Duration.ofMinutes(60).toMillis()))
+                .signWith(SignatureAlgorithm.HS256, SECRET)
+                .compact();
+    }
+
+    @Benchmark
+    public String signWithPrebuiltKey() {
+        return jwtTokenUtils.generateToken(userDetails);
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.benchmark;
+
+import com.example.utils.JwtKeyRing;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.RoleRegistry;
+import com.example.utils.TokenPair;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Token minting cost of one login: the jjwt builder path {@code AuthService.login} used to run twice
+ * against {@link JwtTokenUtils#generateTokenPair}. Run with {@code -prof gc} to get bytes/op
+ * ({@code gc.alloc.rate.norm}) next to ns/op.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TokenMintingBenchmark {
+
+    private static final String SECRET = "rtynRfS7mB3sL9tY6iG2hU1x7g45adA5vCz09kwK3yJ6uM5";
+    private static final String REFRESH_SECRET = "vUvyfcTRCTJKK^%CJKLIUGFXSkljhbucx3duu4567n";
+    private static final Duration LIFETIME = Duration.ofMinutes(60);
+    private static final Duration REFRESH_LIFETIME = Duration.ofDays(30);
+    private static final UUID FAMILY_ID = UUID.randomUUID();
+
+    private JwtTokenUtils jwtTokenUtils;
+    private UserDetails userDetails;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtils = new JwtTokenUtils(RoleRegistry.of(List.of()), JwtKeyRing.empty());
+        jwtTokenUtils.setSecretKey(SECRET);
+        jwtTokenUtils.setSecretKeyForRefresh(REFRESH_SECRET);
+        jwtTokenUtils.setJwtLifetime(LIFETIME);
+        jwtTokenUtils.setJwtRefreshLifetime(REFRESH_LIFETIME);
+        userDetails = new User("user@gmail.com", "password", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    @Benchmark
+    public void loginWithJjwtBuilder(Blackhole blackhole) {
+        blackhole.consume(buildWithJjwt(SECRET, LIFETIME));
+        blackhole.consume(buildWithJjwt(REFRESH_SECRET, REFRESH_LIFETIME));
+    }
+
+    @Benchmark
+    public TokenPair loginWithTokenPair() {
+        return jwtTokenUtils.generateTokenPair(userDetails, FAMILY_ID, 0);
+    }
+
+    private String buildWithJjwt(String secret, Duration lifetime) {
+        Map<String, Object> claims = new HashMap<>();
+        List<String> roleList = userDetails.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        claims.put("roles", roleList);
+
+        Date issuedDate = new Date();
+        Date expiredDate = new Date(issuedDate.getTime() + lifetime.toMillis());
+
+        return Jwts.builder()
+                .setClaims(claims)
+                .setSubject(userDetails.getUsername())
+                .setIssuedAt(issuedDate)
+                .setExpiration(expiredDate)
+                .signWith(SignatureAlgorithm.HS256, secret)
+                .compact();
+    }
+}
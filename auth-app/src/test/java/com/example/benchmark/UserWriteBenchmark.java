@@ -0,0 +1,88 @@
+package com.example.benchmark;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * User write throughput against PostgreSQL, with JDBC batching off ({@code batchSize=1}, one round trip per
+ * row as with the former identity ids) and on. {@code bulkInsert} writes 1000 users with their role in one
+ * transaction; {@code signup} writes one user per transaction. Tables are created in a throwaway
+ * {@code benchmark} schema of the database at {@code -Djdbc.url} (default a local {@code postgres}
+ * database), e.g. {@code mvn -Pbenchmark test -Dbenchmark="UserWrite -jvmArgs -Djdbc.url=..."}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UserWriteBenchmark {
+
+    private static final int BULK_SIZE = 1000;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private final AtomicLong emails = new AtomicLong();
+    private SessionFactory sessionFactory;
+    private Role role;
+
+    @Setup
+    public void setUp() {
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(User.class)
+                .addAnnotatedClass(Role.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL,
+                        System.getProperty("jdbc.url", "jdbc:postgresql://localhost:5432/postgres?reWriteBatchedInserts=true"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, System.getProperty("jdbc.user", "postgres"))
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, System.getProperty("jdbc.password", "postgres"))
+                .setProperty(AvailableSettings.DEFAULT_SCHEMA, "benchmark")
+                .setProperty(AvailableSettings.HBM2DDL_CREATE_NAMESPACES, "true")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, String.valueOf(batchSize))
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory();
+        role = sessionFactory.fromTransaction(session -> {
+            Role userRole = new Role();
+            userRole.setName("ROLE_USER");
+            session.persist(userRole);
+            return userRole;
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BULK_SIZE)
+    public void bulkInsert() {
+        sessionFactory.inTransaction(session -> {
+            for (int i = 0; i < BULK_SIZE; i++) {
+                session.persist(newUser());
+            }
+        });
+    }
+
+    @Benchmark
+    public void signup() {
+        sessionFactory.inTransaction(session -> session.persist(newUser()));
+    }
+
+    private User newUser() {
+        User user = new User();
+        user.setEmail("user" + emails.incrementAndGet() + "@example.com");
+        user.setPassword("{bcrypt}$2a$10$iNpmsmylKP.lY0YZPrmgP.MhTtRmqasGlcDmOETstXCZzbCHIsGOq");
+        user.setRoles(List.of(role));
+        return user;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.controller;
+
+import com.example.payload.request.IntrospectRequest;
+import com.example.payload.response.IntrospectResponse;
+import com.example.service.AuthService;
+import com.example.service.EmailService;
+import com.example.service.LoginThrottleService;
+import com.example.service.TokenIntrospectionService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the controller behind Spring Security's method interceptors, which the plain Mockito tests in
+ * {@link AuthControllerTest} bypass.
+ */
+@SpringJUnitConfig(AuthControllerSecurityTest.Config.class)
+class AuthControllerSecurityTest {
+
+    @Configuration
+    @EnableMethodSecurity
+    static class Config {
+
+        @Bean
+        TokenIntrospectionService tokenIntrospectionService() {
+            TokenIntrospectionService service = mock(TokenIntrospectionService.class);
+            when(service.introspect(any())).thenReturn(new IntrospectResponse(List.of()));
+            when(service.cacheDuration(any())).thenReturn(Duration.ZERO);
+            return service;
+        }
+
+        @Bean
+        AuthController authController(TokenIntrospectionService tokenIntrospectionService) {
+            return new AuthController(mock(AuthService.class), mock(EmailService.class),
+                    tokenIntrospectionService, mock(LoginThrottleService.class));
+        }
+    }
+
+    private static final IntrospectRequest REQUEST = new IntrospectRequest(List.of("token"));
+
+    @Autowired
+    private AuthController authController;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void introspect_PlainUser_IsDenied() {
+        assertThrows(AccessDeniedException.class, () -> authController.introspect(REQUEST));
+    }
+
+    @Test
+    @WithMockUser(roles = "SERVICE")
+    void introspect_Service_IsAllowed() {
+        assertEquals(HttpStatus.OK, authController.introspect(REQUEST).getStatusCode());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void introspect_Admin_IsAllowed() {
+        assertEquals(HttpStatus.OK, authController.introspect(REQUEST).getStatusCode());
+    }
+}
@@ -1,23 +1,41 @@
 package com.example.controller;
 
+import com.example.exceptions.InvalidPasswordException;
+import com.example.exceptions.TooManyLoginAttemptsException;
 import com.example.payload.request.ChangePasswordRequest;
+import com.example.payload.request.IntrospectRequest;
 import com.example.payload.request.LoginRequest;
+import com.example.payload.request.RefreshTokenRequest;
 import com.example.payload.request.SignupRequest;
+import com.example.payload.response.IntrospectResponse;
 import com.example.payload.response.LoginResponse;
+import com.example.payload.response.TokenIntrospection;
 import com.example.service.AuthService;
 import com.example.service.EmailService;
+import com.example.service.LoginThrottleService;
+import com.example.service.TokenIntrospectionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 public class AuthControllerTest {
 
@@ -27,6 +45,12 @@ public class AuthControllerTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @Mock
+    private LoginThrottleService loginThrottleService;
+
     @InjectMocks
     private AuthController authController;
 
@@ -69,11 +93,75 @@ public class AuthControllerTest {
         LoginRequest loginRequest = new LoginRequest("user@gmail.com", "1234567");
 
         // When
-        ResponseEntity<LoginResponse> responseEntity = authController.login(loginRequest);
+        ResponseEntity<LoginResponse> responseEntity = authController.login(loginRequest, new MockHttpServletRequest());
 
         // Then
         assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
         verify(authService, times(1)).login(loginRequest);
+        verify(loginThrottleService, times(1)).recordSuccess("user@gmail.com");
+    }
+
+    @Test
+    @DisplayName("Given bad password, when login is called, then the failure is counted")
+    public void givenBadPassword_whenLoginIsCalled_thenFailureIsCounted() {
+        // Given
+        LoginRequest loginRequest = new LoginRequest("user@gmail.com", "wrong");
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.setRemoteAddr("10.0.0.1");
+        when(authService.login(loginRequest)).thenThrow(new InvalidPasswordException("Invalid password provided."));
+
+        // When / Then
+        assertThrows(InvalidPasswordException.class, () -> authController.login(loginRequest, httpRequest));
+        verify(loginThrottleService, times(1)).recordFailure("user@gmail.com", "10.0.0.1");
+    }
+
+    @Test
+    @DisplayName("Given throttled client, when login is called, then the password is never checked")
+    public void givenThrottledClient_whenLoginIsCalled_thenPasswordIsNotChecked() {
+        // Given
+        LoginRequest loginRequest = new LoginRequest("user@gmail.com", "1234567");
+        MockHttpServletRequest httpRequest = new MockHttpServletRequest();
+        httpRequest.setRemoteAddr("10.0.0.1");
+        doThrow(new TooManyLoginAttemptsException("Too many failed login attempts, please retry later.", Duration.ofMinutes(15)))
+                .when(loginThrottleService).checkAllowed("user@gmail.com", "10.0.0.1");
+
+        // When / Then
+        assertThrows(TooManyLoginAttemptsException.class, () -> authController.login(loginRequest, httpRequest));
+        verifyNoInteractions(authService);
+    }
+
+    @Test
+    @DisplayName("Given valid refresh request, when refresh is called, then returns OK status")
+    public void givenValidRefreshRequest_whenRefreshIsCalled_thenReturnsOkStatus() {
+        // Given
+        RefreshTokenRequest refreshTokenRequest = new RefreshTokenRequest("refresh_token");
+        when(authService.refresh(refreshTokenRequest)).thenReturn(new LoginResponse("user@gmail.com", "token", "new_refresh_token"));
+
+        // When
+        ResponseEntity<LoginResponse> responseEntity = authController.refresh(refreshTokenRequest);
+
+        // Then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals("new_refresh_token", responseEntity.getBody().refreshToken());
+        verify(authService, times(1)).refresh(refreshTokenRequest);
+    }
+
+    @Test
+    @DisplayName("Given introspect request, when introspect is called, then returns results with cache hint")
+    public void givenIntrospectRequest_whenIntrospectIsCalled_thenReturnsResultsWithCacheHint() {
+        // Given
+        IntrospectRequest introspectRequest = new IntrospectRequest(List.of("token"));
+        IntrospectResponse introspectResponse = new IntrospectResponse(List.of(TokenIntrospection.INACTIVE));
+        when(tokenIntrospectionService.introspect(introspectRequest.tokens())).thenReturn(introspectResponse);
+        when(tokenIntrospectionService.cacheDuration(any())).thenReturn(Duration.ofSeconds(90));
+
+        // When
+        ResponseEntity<IntrospectResponse> responseEntity = authController.introspect(introspectRequest);
+
+        // Then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(introspectResponse, responseEntity.getBody());
+        assertEquals("max-age=90, private", responseEntity.getHeaders().getFirst(HttpHeaders.CACHE_CONTROL));
     }
 
     @Test
@@ -0,0 +1,164 @@
+package com.example.controller;
+
+import com.example.payload.response.UserImportResponse;
+import com.example.payload.response.UserSliceResponse;
+import com.example.payload.response.UserSummary;
+import com.example.service.UserDetailsServiceImpl;
+import com.example.service.UserExportService;
+import com.example.service.UserImportService;
+import jakarta.validation.Validation;
+import jakarta.validation.executable.ExecutableValidator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Method;
+import java.security.Principal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+public class UserControllerTest {
+
+    @Mock
+    private UserDetailsServiceImpl userService;
+
+    @Mock
+    private UserExportService userExportService;
+
+    @Mock
+    private UserImportService userImportService;
+
+    @InjectMocks
+    private UserController userController;
+
+    @InjectMocks
+    private PingController pingController;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Given ping request, when ping is called, then returns pong")
+    public void givenPingRequest_whenPingIsCalled_thenReturnsPong() {
+        // When
+        String result = pingController.ping();
+
+        // Then
+        assertEquals("pong", result);
+    }
+
+    @Test
+    @DisplayName("Given current user request, when getCurrentUser is called, then returns user summary")
+    public void givenCurrentUserRequest_whenGetCurrentUserIsCalled_thenReturnsUserSummary() {
+        // Given
+        Principal principal = mock(Principal.class);
+        when(principal.getName()).thenReturn("test@example.com");
+        UserSummary summary = new UserSummary(1L, "test@example.com", true, null, null, List.of("ROLE_USER"));
+        when(userService.findSummaryByEmail("test@example.com")).thenReturn(summary);
+
+        // When
+        ResponseEntity<UserSummary> responseEntity = userController.getCurrentUser(principal);
+
+        // Then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(summary, responseEntity.getBody());
+    }
+
+    @Test
+    @DisplayName("Given admin user request, when getAllUsers is called, then returns page of users")
+    public void givenAdminUserRequest_whenGetAllUsersIsCalled_thenReturnsPageOfUsers() {
+        // Given
+        int page = 0;
+        int size = 10;
+        Page<UserSummary> users = mock(Page.class);
+        when(userService.findAllUsers(page, size)).thenReturn(users);
+
+        // When
+        ResponseEntity<Page<UserSummary>> responseEntity = userController.getAllUsers(page, size);
+
+        // Then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(users, responseEntity.getBody());
+        verify(userService, times(1)).findAllUsers(page, size);
+    }
+
+    @Test
+    @DisplayName("Given cursor, when getUsersAfter is called, then returns slice of users")
+    public void givenCursor_whenGetUsersAfterIsCalled_thenReturnsSliceOfUsers() {
+        // Given
+        UserSliceResponse slice = new UserSliceResponse(
+                List.of(new UserSummary(1L, "test@example.com", true, null, null, List.of("ROLE_USER"))), "next", null);
+        when(userService.findUsersAfter("cursor", 10, false)).thenReturn(slice);
+
+        // When
+        ResponseEntity<UserSliceResponse> responseEntity = userController.getUsersAfter("cursor", 10, false);
+
+        // Then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(slice, responseEntity.getBody());
+        verify(userService, times(1)).findUsersAfter("cursor", 10, false);
+    }
+
+    @Test
+    @DisplayName("Given size out of range, when getUsersAfter is validated, then size is rejected")
+    public void givenSizeOutOfRange_whenGetUsersAfterIsValidated_thenSizeIsRejected() throws Exception {
+        // Given
+        ExecutableValidator validator = Validation.buildDefaultValidatorFactory().getValidator().forExecutables();
+        Method getUsersAfter = UserController.class.getMethod("getUsersAfter", String.class, int.class, boolean.class);
+
+        // Then
+        for (int size : new int[]{-1, 0, UserController.MAX_SLICE_SIZE + 1}) {
+            assertEquals(1, validator.validateParameters(userController, getUsersAfter, new Object[]{null, size, false}).size());
+        }
+        assertEquals(0, validator.validateParameters(userController, getUsersAfter, new Object[]{null, 1, false}).size());
+        assertEquals(0, validator.validateParameters(userController, getUsersAfter,
+                new Object[]{null, UserController.MAX_SLICE_SIZE, false}).size());
+    }
+
+    @Test
+    @DisplayName("Given export request, when exportUsers is called, then streams users in requested format")
+    public void givenExportRequest_whenExportUsersIsCalled_thenStreamsUsers() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> responseEntity = userController.exportUsers(UserExportService.Format.CSV);
+        responseEntity.getBody().writeTo(out);
+
+        // Then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(UserExportService.Format.CSV.mediaType(), responseEntity.getHeaders().getContentType());
+        assertEquals("attachment; filename=\"users.csv\"", responseEntity.getHeaders().getFirst(HttpHeaders.CONTENT_DISPOSITION));
+        verify(userExportService, times(1)).export(UserExportService.Format.CSV, out);
+    }
+
+    @Test
+    @DisplayName("Given import request, when importUsers is called, then returns import report")
+    public void givenImportRequest_whenImportUsersIsCalled_thenReturnsImportReport() throws Exception {
+        // Given
+        ByteArrayInputStream csv = new ByteArrayInputStream("email,password\n".getBytes());
+        UserImportResponse report = new UserImportResponse(0, 0, List.of());
+        when(userImportService.importUsers(csv, false, true)).thenReturn(report);
+
+        // When
+        ResponseEntity<UserImportResponse> responseEntity = userController.importUsers(csv, false, true);
+
+        // Then
+        assertEquals(HttpStatus.OK, responseEntity.getStatusCode());
+        assertEquals(report, responseEntity.getBody());
+    }
+}
@@ -0,0 +1,177 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.exceptions.InvalidTokenException;
+import com.example.payload.request.ChangePasswordRequest;
+import com.example.payload.request.LoginRequest;
+import com.example.payload.response.LoginResponse;
+import com.example.repository.RevokedTokenRepository;
+import com.example.repository.UserRepository;
+import com.example.utils.JwtKeyRing;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.RoleRegistry;
+import com.example.verifier.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs login against an in-memory database and counts the statements it sends. Schema comes from the
+ * entities, so Flyway is off.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({UserDetailsServiceImpl.class, UserAuthCache.class, SimpleMeterRegistry.class, AuthServiceLoginQueryTest.Config.class})
+class AuthServiceLoginQueryTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        PasswordEncoder passwordEncoder() {
+            return new BCryptPasswordEncoder(4);
+        }
+
+        @Bean
+        RoleRegistry roleRegistry() {
+            Role role = new Role();
+            role.setId(1);
+            role.setName("ROLE_USER");
+            return RoleRegistry.of(List.of(role));
+        }
+    }
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private RoleRegistry roleRegistry;
+
+    @Autowired
+    private UserAuthCache userAuthCache;
+
+    private JwtTokenUtils jwtTokenUtils;
+    private TokenRevocationService tokenRevocationService;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        userAuthCache.invalidate("test@example.com");
+        entityManager.getEntityManager()
+                .createNativeQuery("insert into roles (id, name) values (1, 'ROLE_USER')")
+                .executeUpdate();
+        Role role = entityManager.find(Role.class, 1);
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword(passwordEncoder.encode("password"));
+        user.setEmailVerified(true);
+        user.setRoles(List.of(role));
+        entityManager.persist(user);
+        entityManager.flush();
+        // the entity-generated schema has no trigger keeping role_mask in sync with users_roles
+        entityManager.getEntityManager()
+                .createNativeQuery("update users set role_mask = 1")
+                .executeUpdate();
+        entityManager.clear();
+
+        jwtTokenUtils = new JwtTokenUtils(roleRegistry, JwtKeyRing.empty());
+        jwtTokenUtils.setSecretKey("testSecretKey");
+        jwtTokenUtils.setSecretKeyForRefresh("testRefreshSecretKey");
+        jwtTokenUtils.setJwtLifetime(Duration.ofMinutes(30));
+        jwtTokenUtils.setJwtRefreshLifetime(Duration.ofDays(1));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+        tokenRevocationService = new TokenRevocationService(mock(RevokedTokenRepository.class), jwtTokenUtils,
+                new SimpleMeterRegistry(), false);
+        authService = new AuthService(userRepository, userDetailsService, new ProviderManager(provider),
+                mock(ApplicationEventPublisher.class), passwordEncoder, jwtTokenUtils,
+                mock(RefreshTokenFamilyService.class),
+                tokenRevocationService);
+    }
+
+    @Test
+    void login_LoadsUserAndRolesWithOneStatement() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LoginResponse response = authService.login(new LoginRequest("test@example.com", "password"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("ROLE_USER"), jwtTokenUtils.getRoles(response.token()));
+        assertEquals(List.of("ROLE_USER"), jwtTokenUtils.getAllClaimsFromRefreshToken(response.refreshToken()).stringListClaim("roles"));
+    }
+
+    @Test
+    void login_Again_ReadsUserFromCache() {
+        authService.login(new LoginRequest("test@example.com", "password"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LoginResponse response = authService.login(new LoginRequest("test@example.com", "password"));
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(List.of("ROLE_USER"), jwtTokenUtils.getRoles(response.token()));
+    }
+
+    @Test
+    void changePassword_UpdatesWithOneStatement() {
+        String token = jwtTokenUtils.generateToken(userDetailsService.loadUserByUsername("test@example.com"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        authService.changePassword(new ChangePasswordRequest(token, "newPassword"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of("ROLE_USER"), jwtTokenUtils.getRoles(
+                authService.login(new LoginRequest("test@example.com", "newPassword")).token()));
+    }
+
+    @Test
+    void changePassword_RevokedToken_KeepsOldPassword() {
+        String token = jwtTokenUtils.generateToken(userDetailsService.loadUserByUsername("test@example.com"));
+        VerifiedToken claims = jwtTokenUtils.getAllClaimsFromToken(token);
+        tokenRevocationService.revoke(UUID.fromString(claims.tokenId()), claims.expiresAt());
+
+        assertThrows(InvalidTokenException.class,
+                () -> authService.changePassword(new ChangePasswordRequest(token, "newPassword")));
+        assertEquals("test@example.com", authService.login(new LoginRequest("test@example.com", "password")).email());
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.service;
+
+import com.example.payload.request.ChangePasswordRequest;
+import com.example.payload.request.LoginRequest;
+import com.example.payload.request.LogoutRequest;
+import com.example.payload.request.RefreshTokenRequest;
+import com.example.payload.request.RevokeTokenRequest;
+import com.example.payload.request.SignupRequest;
+import com.example.payload.response.LoginResponse;
+import com.example.payload.response.SignupResponse;
+import com.example.exceptions.EmailNotVerifiedException;
+import com.example.exceptions.InvalidPasswordException;
+import com.example.exceptions.InvalidTokenException;
+import com.example.exceptions.UserAlreadyExistsException;
+import com.example.repository.UserRepository;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.TokenPair;
+import com.example.utils.VerifiedClaims;
+import com.example.verifier.TokenVerificationException;
+import com.example.verifier.VerifiedToken;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserDetailsServiceImpl userService;
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private JwtTokenUtils jwtTokenUtils;
+
+    @Mock
+    private RefreshTokenFamilyService refreshTokenFamilyService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @InjectMocks
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void signup_Success() {
+        SignupRequest signupRequest = new SignupRequest("example@example.com", "password");
+        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
+        when(userService.createNewUser("example@example.com", "encodedPassword")).thenReturn(true);
+
+        SignupResponse response = authService.signup(signupRequest);
+
+        assertNotNull(response);
+        assertEquals("The user has successfully registered. Please confirm that your email has been sent to your inbox.", response.message());
+        verifyNoInteractions(eventPublisher, userRepository);
+    }
+
+
+    @Test
+    void signup_Failure_UserAlreadyExists() {
+        SignupRequest signupRequest = new SignupRequest("existing@example.com", "password");
+        when(passwordEncoder.encode("password")).thenReturn("encodedPassword");
+        when(userService.createNewUser("existing@example.com", "encodedPassword")).thenReturn(false);
+        assertThrows(UserAlreadyExistsException.class, () -> authService.signup(signupRequest));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void login_Success() {
+        LoginRequest loginRequest = new LoginRequest("test@example.com", "password");
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
+                .withUsername("test@example.com").password("hash").roles("USER").build();
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+        UUID familyId = UUID.randomUUID();
+        when(refreshTokenFamilyService.open(loginRequest.email())).thenReturn(familyId);
+        when(jwtTokenUtils.generateTokenPair(userDetails, familyId, 0)).thenReturn(new TokenPair("test_token", "test_refresh_token"));
+        LoginResponse response = authService.login(loginRequest);
+        assertNotNull(response);
+        assertEquals("test@example.com", response.email());
+        assertNotNull(response.token());
+        assertNotNull(response.refreshToken());
+    }
+
+    @Test
+    void refresh_Success() {
+        UUID familyId = UUID.randomUUID();
+        VerifiedToken claims = verifiedToken("test@example.com");
+        when(claims.stringClaim("fid")).thenReturn(familyId.toString());
+        when(claims.longClaim("gen")).thenReturn(1L);
+        when(jwtTokenUtils.getAllClaimsFromRefreshToken("refresh_token")).thenReturn(claims);
+        when(refreshTokenFamilyService.rotate(familyId, 1)).thenReturn(2);
+        when(jwtTokenUtils.generateTokenPair(any(), eq(familyId), eq(2))).thenReturn(new TokenPair("new_token", "new_refresh_token"));
+
+        LoginResponse response = authService.refresh(new RefreshTokenRequest("refresh_token"));
+
+        assertEquals("test@example.com", response.email());
+        assertEquals("new_token", response.token());
+        assertEquals("new_refresh_token", response.refreshToken());
+        verifyNoInteractions(authenticationManager, passwordEncoder);
+    }
+
+    @Test
+    void refresh_Failure_UserGone_LeavesFamilyUnrotated() {
+        UUID familyId = UUID.randomUUID();
+        VerifiedToken claims = verifiedToken("gone@example.com");
+        when(claims.stringClaim("fid")).thenReturn(familyId.toString());
+        when(claims.longClaim("gen")).thenReturn(1L);
+        when(jwtTokenUtils.getAllClaimsFromRefreshToken("refresh_token")).thenReturn(claims);
+        when(userService.loadUserByUsername("gone@example.com")).thenThrow(new UsernameNotFoundException("gone"));
+
+        assertThrows(UsernameNotFoundException.class, () -> authService.refresh(new RefreshTokenRequest("refresh_token")));
+        verifyNoInteractions(refreshTokenFamilyService);
+    }
+
+    @Test
+    void refresh_Failure_InvalidToken() {
+        when(jwtTokenUtils.getAllClaimsFromRefreshToken("refresh_token")).thenThrow(
+                new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, "bad token"));
+
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(new RefreshTokenRequest("refresh_token")));
+        verifyNoInteractions(refreshTokenFamilyService);
+    }
+
+    @Test
+    void refresh_Failure_TokenWithoutFamily() {
+        VerifiedToken claims = verifiedToken("test@example.com");
+        when(jwtTokenUtils.getAllClaimsFromRefreshToken("refresh_token")).thenReturn(claims);
+
+        assertThrows(InvalidTokenException.class, () -> authService.refresh(new RefreshTokenRequest("refresh_token")));
+        verifyNoInteractions(refreshTokenFamilyService);
+    }
+
+    @Test
+    void logout_RevokesAccessTokenAndRefreshFamily() {
+        UUID tokenId = UUID.randomUUID();
+        UUID familyId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        VerifiedToken claims = verifiedToken("test@example.com");
+        when(claims.stringClaim("fid")).thenReturn(familyId.toString());
+        when(jwtTokenUtils.getAllClaimsFromRefreshToken("refresh_token")).thenReturn(claims);
+
+        authService.logout(new VerifiedClaims(tokenId, "test@example.com", List.of(), expiresAt), new LogoutRequest("refresh_token"));
+
+        verify(tokenRevocationService, times(1)).revoke(tokenId, expiresAt);
+        verify(refreshTokenFamilyService, times(1)).revoke(familyId);
+    }
+
+    @Test
+    void logout_Failure_RefreshTokenOfAnotherUser() {
+        VerifiedToken claims = verifiedToken("other@example.com");
+        when(claims.stringClaim("fid")).thenReturn(UUID.randomUUID().toString());
+        when(jwtTokenUtils.getAllClaimsFromRefreshToken("refresh_token")).thenReturn(claims);
+        VerifiedClaims current = new VerifiedClaims(UUID.randomUUID(), "test@example.com", List.of(), Instant.now().plusSeconds(600));
+
+        assertThrows(InvalidTokenException.class, () -> authService.logout(current, new LogoutRequest("refresh_token")));
+        verifyNoInteractions(refreshTokenFamilyService);
+    }
+
+    @Test
+    void revoke_Success() {
+        UUID tokenId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        VerifiedToken claims = verifiedToken("test@example.com");
+        when(claims.tokenId()).thenReturn(tokenId.toString());
+        when(claims.expiresAt()).thenReturn(expiresAt);
+        when(jwtTokenUtils.getAllClaimsFromToken("token")).thenReturn(claims);
+
+        authService.revoke(new RevokeTokenRequest("token"));
+
+        verify(tokenRevocationService, times(1)).revoke(tokenId, expiresAt);
+    }
+
+    @Test
+    void revoke_ExpiredTokenIsIgnored() {
+        when(jwtTokenUtils.getAllClaimsFromToken("token")).thenThrow(
+                new TokenVerificationException(TokenVerificationException.Reason.EXPIRED, "expired"));
+
+        authService.revoke(new RevokeTokenRequest("token"));
+
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void revoke_Failure_TokenWithoutId() {
+        VerifiedToken claims = verifiedToken("test@example.com");
+        when(claims.expiresAt()).thenReturn(Instant.now().plusSeconds(600));
+        when(jwtTokenUtils.getAllClaimsFromToken("token")).thenReturn(claims);
+
+        assertThrows(InvalidTokenException.class, () -> authService.revoke(new RevokeTokenRequest("token")));
+        verifyNoInteractions(tokenRevocationService);
+    }
+
+    @Test
+    void login_Failure_EmailNotVerified() {
+        LoginRequest loginRequest = new LoginRequest("unverified@example.com", "password");
+        when(authenticationManager.authenticate(any())).thenThrow(new DisabledException("User is disabled"));
+        assertThrows(EmailNotVerifiedException.class, () -> authService.login(loginRequest));
+    }
+
+    @Test
+    void login_Failure_InvalidPassword() {
+        LoginRequest loginRequest = new LoginRequest("test@example.com", "invalid_password");
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+        assertThrows(InvalidPasswordException.class, () -> authService.login(loginRequest));
+    }
+
+    @Test
+    void changePassword_Success() {
+        ChangePasswordRequest changePasswordRequest = new ChangePasswordRequest("token", "new_password");
+        String email = "test@example.com";
+        VerifiedToken claims = verifiedToken(email);
+        when(tokenRevocationService.verifyAccessToken("token")).thenReturn(claims);
+        when(passwordEncoder.encode("new_password")).thenReturn("newHash");
+        when(userRepository.updatePassword(email, "newHash")).thenReturn(1);
+        authService.changePassword(changePasswordRequest);
+        verify(userRepository, never()).findByEmail(anyString());
+        verify(userService, times(1)).invalidateAuthRecord(email);
+        verify(eventPublisher, times(1)).publishEvent(new PasswordChangedEvent(email));
+    }
+
+    @Test
+    void changePassword_UserNotFound() {
+        ChangePasswordRequest changePasswordRequest = new ChangePasswordRequest("token", "new_password");
+        VerifiedToken claims = verifiedToken("test@example.com");
+        when(tokenRevocationService.verifyAccessToken("token")).thenReturn(claims);
+        when(passwordEncoder.encode("new_password")).thenReturn("newHash");
+        when(userRepository.updatePassword("test@example.com", "newHash")).thenReturn(0);
+        assertThrows(EntityNotFoundException.class, () -> authService.changePassword(changePasswordRequest));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void changePassword_RevokedToken_LeavesPasswordUnchanged() {
+        ChangePasswordRequest changePasswordRequest = new ChangePasswordRequest("revoked", "new_password");
+        when(tokenRevocationService.verifyAccessToken("revoked")).thenThrow(new InvalidTokenException("Token is not valid."));
+        assertThrows(InvalidTokenException.class, () -> authService.changePassword(changePasswordRequest));
+        verifyNoInteractions(userRepository, eventPublisher);
+    }
+
+    private static VerifiedToken verifiedToken(String subject) {
+        VerifiedToken token = mock(VerifiedToken.class);
+        when(token.subject()).thenReturn(subject);
+        return token;
+    }
+}
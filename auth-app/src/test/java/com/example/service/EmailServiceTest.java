@@ -0,0 +1,177 @@
+package com.example.service;
+
+import com.example.exceptions.EmailAlreadyVerifiedException;
+import com.example.exceptions.ResetPasswordEmailSendingException;
+import com.example.repository.UserRepository;
+import com.example.utils.JwtTokenUtils;
+import com.example.verifier.VerifiedToken;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class EmailServiceTest {
+
+    @Mock
+    private JavaMailSender mailSender;
+
+    @Mock
+    private UserDetailsServiceImpl userService;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtTokenUtils jwtTokenUtils;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        emailService = new EmailService(mailSender, userService, userRepository, jwtTokenUtils, tokenRevocationService);
+    }
+
+    @Test
+    void onUserSignedUp_SendsConfirmationEmail() {
+        when(jwtTokenUtils.generateToken(any())).thenReturn("token");
+
+        emailService.onUserSignedUp(new UserSignedUpEvent("test@example.com"));
+
+        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    void onUserSignedUp_MailFailureIsNotPropagated() {
+        when(jwtTokenUtils.generateToken(any())).thenReturn("token");
+        doThrow(new MailSendException("")).when(mailSender).send(any(SimpleMailMessage.class));
+
+        assertDoesNotThrow(() -> emailService.onUserSignedUp(new UserSignedUpEvent("test@example.com")));
+    }
+
+    @Test
+    void onPasswordChanged_SendsNotification() {
+        emailService.onPasswordChanged(new PasswordChangedEvent("test@example.com"));
+
+        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    void onPasswordChanged_MailFailureIsNotPropagated() {
+        doThrow(new MailSendException("")).when(mailSender).send(any(SimpleMailMessage.class));
+
+        assertDoesNotThrow(() -> emailService.onPasswordChanged(new PasswordChangedEvent("test@example.com")));
+    }
+
+    @Test
+    void sendResetPasswordEmail_Success() {
+        String email = "test@example.com";
+        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+
+        assertDoesNotThrow(() -> emailService.sendResetPasswordEmail(email));
+        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    void sendResetPasswordEmail_Fail() {
+        String email = "test@example.com";
+        doThrow(new MailSendException("")).when(mailSender).send(any(SimpleMailMessage.class));
+
+        assertThrows(ResetPasswordEmailSendingException.class, () -> emailService.sendResetPasswordEmail(email));
+    }
+
+    @Test
+    void confirmEmailByToken_VerifiesEmailAndInvalidatesCachedRecord() {
+        String email = "test@example.com";
+        VerifiedToken claims = verifiedToken(email);
+        when(tokenRevocationService.verifyAccessToken("token")).thenReturn(claims);
+        when(userRepository.markEmailVerified(email)).thenReturn(1);
+
+        emailService.confirmEmailByToken("token");
+
+        verify(userService, times(1)).invalidateAuthRecord(email);
+    }
+
+    @Test
+    void confirmEmailByToken_AlreadyVerified_IsNoOp() {
+        String email = "test@example.com";
+        VerifiedToken claims = verifiedToken(email);
+        when(tokenRevocationService.verifyAccessToken("token")).thenReturn(claims);
+        when(userRepository.markEmailVerified(email)).thenReturn(0);
+        when(userRepository.existsByEmail(email)).thenReturn(true);
+
+        assertDoesNotThrow(() -> emailService.confirmEmailByToken("token"));
+        verify(userService, never()).invalidateAuthRecord(anyString());
+    }
+
+    @Test
+    void confirmEmailByToken_UserNotFound() {
+        String email = "test@example.com";
+        VerifiedToken claims = verifiedToken(email);
+        when(tokenRevocationService.verifyAccessToken("token")).thenReturn(claims);
+        when(userRepository.markEmailVerified(email)).thenReturn(0);
+        when(userRepository.existsByEmail(email)).thenReturn(false);
+
+        assertThrows(EntityNotFoundException.class, () -> emailService.confirmEmailByToken("token"));
+    }
+
+    @Test
+    void resendEmailConfirm_Success() {
+        String email = "test@example.com";
+
+        when(userService.findUserDetails(anyString())).thenReturn(java.util.Optional.of(userDetails(email, false)));
+        when(jwtTokenUtils.generateToken(any())).thenReturn("test_token");
+        doNothing().when(mailSender).send(any(SimpleMailMessage.class));
+
+        assertDoesNotThrow(() -> emailService.resendEmailConfirm(email));
+        verify(mailSender, times(1)).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    void resendEmailConfirm_EmailAlreadyVerified() {
+        String email = "test@example.com";
+
+        when(userService.findUserDetails(anyString())).thenReturn(java.util.Optional.of(userDetails(email, true)));
+
+        assertThrows(EmailAlreadyVerifiedException.class, () -> emailService.resendEmailConfirm(email));
+        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    void resendEmailConfirm_UserNotFound() {
+        String email = "test@example.com";
+
+        when(userService.findUserDetails(anyString())).thenReturn(java.util.Optional.empty());
+
+        assertThrows(EntityNotFoundException.class, () -> emailService.resendEmailConfirm(email));
+        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+    }
+
+    private static UserDetails userDetails(String email, boolean emailVerified) {
+        return org.springframework.security.core.userdetails.User.withUsername(email)
+                .password("hash")
+                .authorities(UserDetailsServiceImpl.DEFAULT_ROLE)
+                .disabled(!emailVerified)
+                .build();
+    }
+
+    private static VerifiedToken verifiedToken(String subject) {
+        VerifiedToken token = mock(VerifiedToken.class);
+        when(token.subject()).thenReturn(subject);
+        return token;
+    }
+}
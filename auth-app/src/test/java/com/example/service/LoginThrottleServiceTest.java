@@ -0,0 +1,58 @@
+package com.example.service;
+
+import com.example.exceptions.TooManyLoginAttemptsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginThrottleService loginThrottleService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottleService = new LoginThrottleService(meterRegistry, Duration.ofMinutes(15), 3, 5, 1000);
+    }
+
+    @Test
+    void checkAllowed_BlockedAfterTooManyFailuresForEmail() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottleService.checkAllowed("user@example.com", "10.0.0.1");
+            loginThrottleService.recordFailure("User@Example.com", "10.0.0.1");
+        }
+
+        TooManyLoginAttemptsException e = assertThrows(TooManyLoginAttemptsException.class,
+                () -> loginThrottleService.checkAllowed("user@example.com", "10.0.0.2"));
+        assertEquals(Duration.ofMinutes(15), e.getRetryAfter());
+        assertEquals(3.0, meterRegistry.get("auth.login.throttle").tag("result", "allowed").counter().count());
+        assertEquals(1.0, meterRegistry.get("auth.login.throttle").tag("limit", "email").counter().count());
+    }
+
+    @Test
+    void checkAllowed_BlockedAfterTooManyFailuresFromIp() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottleService.recordFailure("user" + i + "@example.com", "10.0.0.1");
+        }
+
+        assertThrows(TooManyLoginAttemptsException.class, () -> loginThrottleService.checkAllowed("other@example.com", "10.0.0.1"));
+        loginThrottleService.checkAllowed("other@example.com", "10.0.0.2");
+        assertEquals(1.0, meterRegistry.get("auth.login.throttle").tag("limit", "ip").counter().count());
+    }
+
+    @Test
+    void recordSuccess_ClearsEmailFailures() {
+        loginThrottleService.recordFailure("user@example.com", "10.0.0.1");
+        loginThrottleService.recordFailure("user@example.com", "10.0.0.2");
+        loginThrottleService.recordFailure("user@example.com", "10.0.0.3");
+
+        loginThrottleService.recordSuccess("user@example.com");
+
+        loginThrottleService.checkAllowed("user@example.com", "10.0.0.4");
+    }
+}
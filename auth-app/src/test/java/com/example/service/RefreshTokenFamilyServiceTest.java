@@ -0,0 +1,137 @@
+package com.example.service;
+
+import com.example.entity.RefreshTokenFamily;
+import com.example.exceptions.InvalidTokenException;
+import com.example.repository.RefreshTokenFamilyRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenFamilyServiceTest {
+
+    @Mock
+    private RefreshTokenFamilyRepository refreshTokenFamilyRepository;
+
+    private RefreshTokenFamilyService refreshTokenFamilyService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        refreshTokenFamilyService = new RefreshTokenFamilyService(refreshTokenFamilyRepository,
+                new SimpleMeterRegistry(), Duration.ofDays(30), 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void open_Success() {
+        when(refreshTokenFamilyRepository.create(any(), eq("test@example.com"), any())).thenReturn(1);
+
+        assertNotNull(refreshTokenFamilyService.open("test@example.com"));
+    }
+
+    @Test
+    void open_Failure_UserNotFound() {
+        when(refreshTokenFamilyRepository.create(any(), eq("missing@example.com"), any())).thenReturn(0);
+
+        assertThrows(EntityNotFoundException.class, () -> refreshTokenFamilyService.open("missing@example.com"));
+    }
+
+    @Test
+    void rotate_Success() {
+        UUID familyId = openFamily();
+        when(refreshTokenFamilyRepository.rotate(eq(familyId), eq(0), any(), any())).thenReturn(1);
+
+        assertEquals(1, refreshTokenFamilyService.rotate(familyId, 0));
+    }
+
+    @Test
+    void rotate_ReusedGeneration_RevokesFamilyWithoutQuery() {
+        UUID familyId = openFamily();
+        when(refreshTokenFamilyRepository.rotate(eq(familyId), eq(0), any(), any())).thenReturn(1);
+        refreshTokenFamilyService.rotate(familyId, 0);
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenFamilyService.rotate(familyId, 0));
+        verify(refreshTokenFamilyRepository, times(1)).revoke(familyId);
+        verify(refreshTokenFamilyRepository, times(1)).rotate(any(), anyInt(), any(), any());
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenFamilyService.rotate(familyId, 1));
+        verify(refreshTokenFamilyRepository, times(1)).rotate(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void rotate_ReuseDetectedFromDatabase() {
+        UUID familyId = UUID.randomUUID();
+        RefreshTokenFamily family = new RefreshTokenFamily();
+        family.setId(familyId);
+        family.setGeneration(3);
+        when(refreshTokenFamilyRepository.rotate(eq(familyId), eq(1), any(), any())).thenReturn(0);
+        when(refreshTokenFamilyRepository.findById(familyId)).thenReturn(Optional.of(family));
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenFamilyService.rotate(familyId, 1));
+        verify(refreshTokenFamilyRepository, times(1)).revoke(familyId);
+    }
+
+    @Test
+    void rotate_RolledBack_RetrySucceeds() {
+        UUID familyId = openFamily();
+        when(refreshTokenFamilyRepository.rotate(eq(familyId), eq(0), any(), any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        refreshTokenFamilyService.rotate(familyId, 0);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(1, refreshTokenFamilyService.rotate(familyId, 0));
+        verify(refreshTokenFamilyRepository, never()).revoke(any());
+    }
+
+    @Test
+    void rotate_Committed_ReuseIsRejectedWithoutQuery() {
+        UUID familyId = openFamily();
+        when(refreshTokenFamilyRepository.rotate(eq(familyId), eq(0), any(), any())).thenReturn(1);
+        TransactionSynchronizationManager.initSynchronization();
+        refreshTokenFamilyService.rotate(familyId, 0);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenFamilyService.rotate(familyId, 0));
+        verify(refreshTokenFamilyRepository, times(1)).rotate(any(), anyInt(), any(), any());
+    }
+
+    @Test
+    void rotate_UnknownFamily() {
+        UUID familyId = UUID.randomUUID();
+        when(refreshTokenFamilyRepository.rotate(eq(familyId), eq(0), any(), any())).thenReturn(0);
+        when(refreshTokenFamilyRepository.findById(familyId)).thenReturn(Optional.empty());
+
+        assertThrows(InvalidTokenException.class, () -> refreshTokenFamilyService.rotate(familyId, 0));
+        verify(refreshTokenFamilyRepository, never()).revoke(any());
+    }
+
+    private UUID openFamily() {
+        when(refreshTokenFamilyRepository.create(any(), any(), any())).thenReturn(1);
+        return refreshTokenFamilyService.open("test@example.com");
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.service;
+
+import com.example.config.TokenVerifierConfiguration;
+import com.example.entity.Role;
+import com.example.payload.response.IntrospectResponse;
+import com.example.payload.response.TokenIntrospection;
+import com.example.utils.JwtKeyRing;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.RoleRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+class TokenIntrospectionServiceTest {
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtTokenUtils jwtTokenUtils;
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        Role user = new Role();
+        user.setId(1);
+        user.setName("ROLE_USER");
+        RoleRegistry roleRegistry = RoleRegistry.of(List.of(user));
+        jwtTokenUtils = new JwtTokenUtils(roleRegistry, JwtKeyRing.empty());
+        jwtTokenUtils.setSecretKey("testSecretKey");
+        jwtTokenUtils.setSecretKeyForRefresh("testRefreshSecretKey");
+        jwtTokenUtils.setJwtLifetime(Duration.ofMinutes(30));
+        jwtTokenUtils.setJwtRefreshLifetime(Duration.ofDays(1));
+        tokenIntrospectionService = new TokenIntrospectionService(
+                new TokenVerifierConfiguration().accessTokenVerifier(jwtTokenUtils, roleRegistry, new SimpleMeterRegistry(), 100),
+                tokenRevocationService, 4, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void introspect_ActiveAndInactiveTokens() {
+        String token = jwtTokenUtils.generateToken(userDetails("testUser"));
+
+        IntrospectResponse response = tokenIntrospectionService.introspect(Arrays.asList(token, "invalidToken", null));
+
+        TokenIntrospection active = response.tokens().get(0);
+        assertTrue(active.active());
+        assertEquals("testUser", active.subject());
+        assertEquals(List.of("ROLE_USER"), active.roles());
+        assertNotNull(active.expiresAt());
+        assertEquals(TokenIntrospection.INACTIVE, response.tokens().get(1));
+        assertEquals(TokenIntrospection.INACTIVE, response.tokens().get(2));
+    }
+
+    @Test
+    void introspect_RevokedTokenIsInactive() {
+        String token = jwtTokenUtils.generateToken(userDetails("testUser"));
+        when(tokenRevocationService.isRevoked(any())).thenReturn(true);
+
+        assertFalse(tokenIntrospectionService.introspect(List.of(token)).tokens().get(0).active());
+    }
+
+    @Test
+    void introspect_LargeBatchKeepsRequestOrder() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            tokens.add(jwtTokenUtils.generateToken(userDetails("user" + i)));
+        }
+
+        List<TokenIntrospection> results = tokenIntrospectionService.introspect(tokens).tokens();
+
+        for (int i = 0; i < 50; i++) {
+            assertEquals("user" + i, results.get(i).subject());
+        }
+    }
+
+    @Test
+    void cacheDuration_UntilFirstActiveTokenExpires() {
+        String token = jwtTokenUtils.generateToken(userDetails("testUser"));
+        jwtTokenUtils.setJwtLifetime(Duration.ofMinutes(2));
+        String shortLivedToken = jwtTokenUtils.generateToken(userDetails("testUser"));
+
+        Duration longLived = tokenIntrospectionService.cacheDuration(tokenIntrospectionService.introspect(List.of(token, "invalidToken")));
+        Duration shortLived = tokenIntrospectionService.cacheDuration(tokenIntrospectionService.introspect(List.of(token, shortLivedToken)));
+
+        assertEquals(Duration.ofMinutes(5), longLived);
+        assertTrue(shortLived.compareTo(Duration.ofMinutes(2)) <= 0);
+        assertTrue(shortLived.compareTo(Duration.ofMinutes(1)) > 0);
+    }
+
+    private static UserDetails userDetails(String username) {
+        return new User(username, "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.service;
+
+import com.example.entity.RevokedToken;
+import com.example.exceptions.InvalidTokenException;
+import com.example.repository.RevokedTokenRepository;
+import com.example.utils.JwtKeyRing;
+import com.example.utils.JwtTokenUtils;
+import com.example.utils.RoleRegistry;
+import com.example.verifier.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private JwtTokenUtils jwtTokenUtils;
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        jwtTokenUtils = new JwtTokenUtils(RoleRegistry.of(List.of()), JwtKeyRing.empty());
+        jwtTokenUtils.setSecretKey("testSecretKey");
+        jwtTokenUtils.setJwtLifetime(Duration.ofMinutes(30));
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, jwtTokenUtils, meterRegistry, true);
+    }
+
+    @Test
+    void revoke_TokenIsRejectedWithoutQuery() {
+        UUID tokenId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        tokenRevocationService.revoke(tokenId, expiresAt);
+
+        verify(revokedTokenRepository, times(1)).insert(eq(tokenId), eq(expiresAt), any());
+        assertTrue(tokenRevocationService.isRevoked(tokenId));
+        assertFalse(tokenRevocationService.isRevoked(UUID.randomUUID()));
+        assertFalse(tokenRevocationService.isRevoked(null));
+        verify(revokedTokenRepository, never()).findByRevokedAtAfterAndExpiresAtAfter(any(), any());
+        assertEquals(1.0, meterRegistry.get("jwt.revoked.tokens").gauge().value());
+    }
+
+    @Test
+    void loadRevokedTokens_RestoresStoredRevocations() {
+        UUID tokenId = UUID.randomUUID();
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(revokedToken(tokenId, Instant.now().plusSeconds(600))));
+
+        tokenRevocationService.loadRevokedTokens();
+
+        assertTrue(tokenRevocationService.isRevoked(tokenId));
+    }
+
+    @Test
+    void synchronize_PicksUpOtherNodesAndDropsExpired() {
+        UUID expired = UUID.randomUUID();
+        tokenRevocationService.revoke(expired, Instant.now().minusSeconds(1));
+        UUID revokedElsewhere = UUID.randomUUID();
+        when(revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(any(), any()))
+                .thenReturn(List.of(revokedToken(revokedElsewhere, Instant.now().plusSeconds(600))));
+
+        tokenRevocationService.synchronize();
+
+        assertTrue(tokenRevocationService.isRevoked(revokedElsewhere));
+        assertFalse(tokenRevocationService.isRevoked(expired));
+        assertEquals(1.0, meterRegistry.get("jwt.revoked.tokens").gauge().value());
+        verify(revokedTokenRepository, times(1)).deleteExpired(any());
+    }
+
+    @Test
+    void verifyAccessToken_ReturnsClaimsOfValidToken() {
+        String token = jwtTokenUtils.generateToken(userDetails("test@example.com"));
+
+        assertEquals("test@example.com", tokenRevocationService.verifyAccessToken(token).subject());
+    }
+
+    @Test
+    void verifyAccessToken_RevokedToken_IsRejected() {
+        String token = jwtTokenUtils.generateToken(userDetails("test@example.com"));
+        VerifiedToken claims = jwtTokenUtils.getAllClaimsFromToken(token);
+        tokenRevocationService.revoke(UUID.fromString(claims.tokenId()), claims.expiresAt());
+
+        assertThrows(InvalidTokenException.class, () -> tokenRevocationService.verifyAccessToken(token));
+    }
+
+    @Test
+    void verifyAccessToken_InvalidToken_IsRejected() {
+        assertThrows(InvalidTokenException.class, () -> tokenRevocationService.verifyAccessToken("not.a.token"));
+        assertThrows(InvalidTokenException.class, () -> tokenRevocationService.verifyAccessToken(null));
+    }
+
+    private static User userDetails(String email) {
+        return new User(email, "", List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+
+    private static RevokedToken revokedToken(UUID jti, Instant expiresAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(jti);
+        revokedToken.setExpiresAt(expiresAt);
+        revokedToken.setRevokedAt(Instant.now());
+        return revokedToken;
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Purges users from PostgreSQL, which the locking and keyset paging are written for. Schema comes from the
+ * entities, so Flyway is off; a batch size of 2 spreads the stale users over several batches.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "users.purge.batch-size=2",
+        "users.purge.pause=PT0S"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({UnverifiedUserPurgeService.class, UserAuthCache.class, SimpleMeterRegistry.class})
+class UnverifiedUserPurgeTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final LocalDateTime CUTOFF = LocalDateTime.of(2024, 6, 1, 0, 0);
+
+    @Autowired
+    private UnverifiedUserPurgeService purgeService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into roles (id, name) values (1, 'ROLE_USER') on conflict do nothing");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users_roles");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void purgeCreatedBefore_DeletesStaleUnverifiedUsersWithTheirRoles() {
+        for (int i = 1; i <= 5; i++) {
+            insertUser("stale" + i + "@example.com", false, CUTOFF.minusDays(i));
+        }
+        insertUser("verified@example.com", true, CUTOFF.minusDays(30));
+        insertUser("recent@example.com", false, CUTOFF.plusHours(1));
+
+        long deleted = purgeService.purgeCreatedBefore(CUTOFF);
+
+        assertEquals(5, deleted);
+        assertEquals(List.of("recent@example.com", "verified@example.com"),
+                jdbcTemplate.queryForList("select email from users order by email", String.class));
+        assertEquals(2, jdbcTemplate.queryForObject("select count(*) from users_roles", Integer.class));
+        assertEquals(5, meterRegistry.counter("users.purged").count());
+    }
+
+    @Test
+    void purgeCreatedBefore_NothingStale_DeletesNothing() {
+        insertUser("recent@example.com", false, CUTOFF.plusDays(1));
+
+        assertEquals(0, purgeService.purgeCreatedBefore(CUTOFF));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from users", Integer.class));
+    }
+
+    private void insertUser(String email, boolean verified, LocalDateTime createdAt) {
+        Long id = jdbcTemplate.queryForObject("insert into users (id, email, password, is_email_verified, created_at, role_mask) " +
+                "values (nextval('users_id_seq'), ?, 'hash', ?, ?, 0) returning id", Long.class, email, verified, createdAt);
+        jdbcTemplate.update("insert into users_roles (user_id, role_id) values (?, 1)", id);
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.service;
+
+import com.example.service.UserAuthCache.AuthRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserAuthCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserAuthCache userAuthCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userAuthCache = new UserAuthCache(meterRegistry, true, 100, Duration.ofMinutes(1));
+        loads = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void get_UnknownEmail_IsNotCached() {
+        assertTrue(userAuthCache.get("test@example.com", email -> load(Optional.empty())).isEmpty());
+        userAuthCache.get("test@example.com", email -> load(Optional.empty()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void invalidate_InTransaction_DropsWhatWasLoadedBeforeCommit() {
+        AuthRecord before = new AuthRecord("oldHash", true, List.of());
+        AuthRecord after = new AuthRecord("newHash", true, List.of());
+        TransactionSynchronizationManager.initSynchronization();
+
+        userAuthCache.invalidate("test@example.com");
+        // a login on another thread reads the row before the password change commits
+        userAuthCache.get("test@example.com", email -> load(Optional.of(before)));
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization ->
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertEquals(Optional.of(after), userAuthCache.get("test@example.com", email -> load(Optional.of(after))));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_RecordsHitsAndMisses() {
+        AuthRecord record = new AuthRecord("hash", true, List.of());
+
+        userAuthCache.get("test@example.com", email -> load(Optional.of(record)));
+        userAuthCache.get("test@example.com", email -> load(Optional.of(record)));
+
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "users.auth").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "users.auth").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    private Optional<AuthRecord> load(Optional<AuthRecord> record) {
+        loads.incrementAndGet();
+        return record;
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.payload.response.UserSliceResponse;
+import com.example.payload.response.UserSummary;
+import com.example.repository.UserRepository;
+import com.example.utils.RoleRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.EntityNotFoundException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts the statements sent when users and their roles are read, so a roles query per user shows up as a
+ * failure. Schema comes from the entities, so Flyway is off.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({UserDetailsServiceImpl.class, UserAuthCache.class, SimpleMeterRegistry.class, UserDetailsServiceQueryTest.Config.class})
+class UserDetailsServiceQueryTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        RoleRegistry roleRegistry() {
+            return RoleRegistry.of(List.of(role(1, "ROLE_USER"), role(2, "ROLE_ADMIN")));
+        }
+    }
+
+    private static final int USERS = 120;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        entityManager.getEntityManager()
+                .createNativeQuery("insert into roles (id, name) values (1, 'ROLE_USER'), (2, 'ROLE_ADMIN')")
+                .executeUpdate();
+        Role userRole = entityManager.find(Role.class, 1);
+        Role adminRole = entityManager.find(Role.class, 2);
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail("user" + i + "@example.com");
+            user.setPassword("hash");
+            user.setRoles(i % 10 == 0 ? List.of(userRole, adminRole) : List.of(userRole));
+            entityManager.persist(user);
+        }
+        entityManager.flush();
+        // the entity-generated schema has no trigger keeping role_mask in sync with users_roles
+        entityManager.getEntityManager()
+                .createNativeQuery("update users set role_mask = case when id in " +
+                        "(select user_id from users_roles where role_id = 2) then 3 else 1 end")
+                .executeUpdate();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllUsers_LoadsPageWithRolesInFixedNumberOfStatements() {
+        Page<UserSummary> page = userDetailsService.findAllUsers(0, 100);
+
+        assertEquals(100, page.getContent().size());
+        assertEquals(USERS, page.getTotalElements());
+        int roles = page.getContent().stream().mapToInt(user -> user.roles().size()).sum();
+        assertEquals(110, roles);
+        // page of ids, count, users with roles
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findAllUsers_KeepsIdOrderAcrossPages() {
+        Page<UserSummary> first = userDetailsService.findAllUsers(0, 100);
+        Page<UserSummary> second = userDetailsService.findAllUsers(1, 100);
+
+        assertEquals("user0@example.com", first.getContent().get(0).email());
+        assertEquals("user99@example.com", first.getContent().get(99).email());
+        assertEquals(20, second.getContent().size());
+        assertEquals("user100@example.com", second.getContent().get(0).email());
+    }
+
+    @Test
+    void findUsersAfter_WalksAllUsersInCreationOrderWithoutCounting() {
+        List<UserSummary> seen = new ArrayList<>();
+        String cursor = null;
+        int slices = 0;
+        do {
+            statistics.clear();
+            UserSliceResponse slice = userDetailsService.findUsersAfter(cursor, 50, false);
+            // ids of the slice, users with roles
+            assertEquals(2, statistics.getPrepareStatementCount());
+            assertEquals(0, statistics.getEntityLoadCount());
+            assertNull(slice.total());
+            seen.addAll(slice.users());
+            cursor = slice.nextCursor();
+            slices++;
+        } while (cursor != null);
+
+        assertEquals(3, slices);
+        assertEquals(USERS, seen.size());
+        assertEquals(USERS, seen.stream().map(UserSummary::id).distinct().count());
+        assertEquals(seen, seen.stream()
+                .sorted(Comparator.comparing(UserSummary::createdAt).thenComparing(UserSummary::id))
+                .toList());
+    }
+
+    @Test
+    void findUsersAfter_CountsOnlyWhenAsked() {
+        UserSliceResponse slice = userDetailsService.findUsersAfter(null, USERS, true);
+
+        assertEquals(USERS, slice.users().size());
+        assertNull(slice.nextCursor());
+        assertNotNull(slice.total());
+        assertEquals(USERS, slice.total());
+        // ids, users with roles, count
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findSummaryByEmail_ReadsUserAndRolesWithOneStatement() {
+        UserSummary summary = userDetailsService.findSummaryByEmail("user10@example.com");
+
+        assertEquals("user10@example.com", summary.email());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), summary.roles().stream().sorted().toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findSummaryByEmail_UnknownEmail() {
+        assertThrows(EntityNotFoundException.class, () -> userDetailsService.findSummaryByEmail("nobody@example.com"));
+    }
+
+    @Test
+    void findAll_BatchFetchesLazyRoles() {
+        Page<User> page = userRepository.findAll(PageRequest.of(0, 100));
+
+        page.getContent().forEach(user -> user.getRoles().size());
+
+        // page of users, count, one batch of roles for the whole page
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void saveAll_InsertsUsersAndRolesInBatches() {
+        Role userRole = entityManager.find(Role.class, 1);
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.setEmail("batch" + i + "@example.com");
+            user.setPassword("hash");
+            user.setRoles(List.of(userRole));
+            users.add(user);
+        }
+        statistics.clear();
+
+        userRepository.saveAll(users);
+        entityManager.flush();
+
+        // one statement per batch of 50 users or role assignments, plus a sequence call per 50 ids,
+        // instead of one round trip per row
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+        assertEquals(USERS, users.stream().map(User::getId).distinct().count());
+    }
+
+    @Test
+    void loadUserByUsername_ReadsRolesFromMaskWithOneStatement() {
+        UserDetails userDetails = userDetailsService.loadUserByUsername("user10@example.com");
+
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"), userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private static Role role(int id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,228 @@
+package com.example.service;
+
+import com.example.config.PasswordEncoderConfiguration;
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.payload.response.UserSliceResponse;
+import com.example.repository.UserRepository;
+import com.example.utils.RoleRegistry;
+import com.example.utils.UserCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+
+public class UserDetailsServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private RoleRegistry roleRegistry;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        roleRegistry = RoleRegistry.of(List.of(role(1, "ROLE_USER"), role(2, "ROLE_ADMIN")));
+        userDetailsService = new UserDetailsServiceImpl(userRepository, eventPublisher, roleRegistry,
+                new UserAuthCache(new SimpleMeterRegistry(), true, 100, Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void loadUserByUsername_UserFound() {
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("password");
+        user.setRoleMask(1);
+
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.of(user));
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername("test@example.com");
+
+        assertNotNull(userDetails);
+        assertEquals("test@example.com", userDetails.getUsername());
+        assertEquals("password", userDetails.getPassword());
+        assertEquals(1, userDetails.getAuthorities().size());
+        assertTrue(userDetails.getAuthorities().stream().anyMatch(auth -> auth.getAuthority().equals("ROLE_USER")));
+        assertSame(roleRegistry.authoritiesOf(1).get(0), userDetails.getAuthorities().iterator().next());
+        assertFalse(userDetails.isEnabled());
+        verify(userRepository, never()).findWithRolesByEmail(anyString());
+    }
+
+    @Test
+    void loadUserByUsername_MaskWithUnknownRole_LoadsRoles() {
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("password");
+        user.setRoleMask(RoleRegistry.NOT_ENCODABLE);
+        user.setRoles(List.of(role(40, "ROLE_AUDITOR"), role(2, "ROLE_ADMIN")));
+
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.findWithRolesByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername("test@example.com");
+
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_AUDITOR"), userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
+    }
+
+    @Test
+    void loadUserByUsername_UserNotFound() {
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("test@example.com"));
+    }
+
+    @Test
+    void loadUserByUsername_Again_IsServedFromCache() {
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("password");
+        user.setRoleMask(1);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        UserDetails first = userDetailsService.loadUserByUsername("test@example.com");
+        ((org.springframework.security.core.userdetails.User) first).eraseCredentials();
+        UserDetails second = userDetailsService.loadUserByUsername("test@example.com");
+
+        assertEquals("password", second.getPassword());
+        assertEquals(first.getAuthorities(), second.getAuthorities());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void loadUserByUsername_AfterInvalidation_ReadsChangedUser() {
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("password");
+        user.setRoleMask(1);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        assertFalse(userDetailsService.loadUserByUsername("test@example.com").isEnabled());
+
+        user.setEmailVerified(true);
+        userDetailsService.invalidateAuthRecord("test@example.com");
+
+        assertTrue(userDetailsService.loadUserByUsername("test@example.com").isEnabled());
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void loadUserByUsername_CacheDisabled_ReadsUserEveryTime() {
+        userDetailsService = new UserDetailsServiceImpl(userRepository, eventPublisher, roleRegistry,
+                new UserAuthCache(new SimpleMeterRegistry(), false, 100, Duration.ofMinutes(1)));
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("password");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        userDetailsService.loadUserByUsername("test@example.com");
+        userDetailsService.loadUserByUsername("test@example.com");
+
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void createNewUser_Success() {
+        when(userRepository.insertIfAbsent("test@example.com", "encodedPassword", "ROLE_USER")).thenReturn(1);
+
+        assertTrue(userDetailsService.createNewUser("test@example.com", "encodedPassword"));
+        verify(eventPublisher, times(1)).publishEvent(new UserSignedUpEvent("test@example.com"));
+    }
+
+    @Test
+    void createNewUser_EmailTaken() {
+        when(userRepository.insertIfAbsent("test@example.com", "encodedPassword", "ROLE_USER")).thenReturn(0);
+
+        assertFalse(userDetailsService.createNewUser("test@example.com", "encodedPassword"));
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updatePassword_StoresUpgradedHash() {
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword("oldHash");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        UserDetails userDetails = org.springframework.security.core.userdetails.User
+                .withUsername("test@example.com").password("oldHash").roles("USER").build();
+
+        UserDetails updated = userDetailsService.updatePassword(userDetails, "{bcrypt}newHash");
+
+        assertEquals("{bcrypt}newHash", updated.getPassword());
+        assertEquals("{bcrypt}newHash", user.getPassword());
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void login_LegacyHashIsUpgraded() {
+        PasswordEncoder calibratedEncoder = new PasswordEncoderConfiguration().passwordEncoder(new SimpleMeterRegistry(),
+                1, 4, Duration.ofSeconds(1), "bcrypt", Duration.ofMillis(1), 4, 19456, 1, 2);
+        User user = new User();
+        user.setEmail("test@example.com");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("password"));
+        user.setEmailVerified(true);
+        user.setRoleMask(1);
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider(calibratedEncoder);
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(userDetailsService);
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("test@example.com", "password"));
+
+        assertTrue(user.getPassword().startsWith("{bcrypt}"));
+        assertTrue(calibratedEncoder.matches("password", user.getPassword()));
+        assertFalse(calibratedEncoder.upgradeEncoding(user.getPassword()));
+
+        provider.authenticate(new UsernamePasswordAuthenticationToken("test@example.com", "password"));
+        verify(userRepository, times(1)).save(user);
+    }
+
+    @Test
+    void findUsersAfter_UsersDeletedBeforeLoading_CursorStillAdvances() {
+        UserCursor first = new UserCursor(LocalDateTime.of(2024, 1, 1, 0, 0), 1);
+        UserCursor second = new UserCursor(LocalDateTime.of(2024, 1, 2, 0, 0), 2);
+        UserCursor third = new UserCursor(LocalDateTime.of(2024, 1, 3, 0, 0), 3);
+        when(userRepository.findFirstPositions(any())).thenReturn(List.of(first, second, third));
+        when(userRepository.findRowsByIdIn(List.of(1L, 2L))).thenReturn(List.of());
+
+        UserSliceResponse slice = userDetailsService.findUsersAfter(null, 2, false);
+
+        assertEquals(List.of(), slice.users());
+        assertEquals(second.encode(), slice.nextCursor());
+    }
+
+    private static Role role(int id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
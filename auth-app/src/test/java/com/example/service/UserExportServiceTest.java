@@ -0,0 +1,102 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exports from an in-memory database. Schema comes from the entities, so Flyway is off; a fetch size of 2
+ * makes the export flush several times.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "users.export.fetch-size=2"
+})
+@Import(UserExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class UserExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        Role userRole = new Role();
+        userRole.setName("ROLE_USER");
+        entityManager.persist(userRole);
+        Role adminRole = new Role();
+        adminRole.setName("ROLE_ADMIN");
+        entityManager.persist(adminRole);
+        persistUser("admin@example.com", true, List.of(userRole, adminRole));
+        persistUser("user@example.com", false, List.of(userRole));
+        persistUser("\"quoted\",user@example.com", false, List.of());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void export_Ndjson_OneUserPerLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = userExportService.export(UserExportService.Format.NDJSON, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(3, exported);
+        assertEquals(3, lines.size());
+        JsonNode admin = objectMapper.readTree(lines.get(0));
+        assertEquals("admin@example.com", admin.get("email").asText());
+        assertEquals(List.of("ROLE_ADMIN", "ROLE_USER"),
+                objectMapper.convertValue(admin.get("roles"), List.class).stream().sorted().toList());
+        assertFalse(admin.has("password"));
+        assertEquals(0, objectMapper.readTree(lines.get(2)).get("roles").size());
+    }
+
+    @Test
+    void export_Csv_HeaderAndQuotedFields() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userExportService.export(UserExportService.Format.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals("id,email,email_verified,created_at,updated_at,roles", lines.get(0));
+        assertEquals(4, lines.size());
+        String[] user = lines.get(2).split(",");
+        assertEquals("user@example.com", user[1]);
+        assertEquals("false", user[2]);
+        assertEquals("ROLE_USER", user[5]);
+        assertTrue(lines.get(3).contains(",\"\"\"quoted\"\",user@example.com\",false,"));
+        assertFalse(lines.get(0).contains("password"));
+    }
+
+    private void persistUser(String email, boolean verified, List<Role> roles) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("hash");
+        user.setEmailVerified(verified);
+        user.setRoles(roles);
+        entityManager.persist(user);
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import com.example.entity.User;
+import com.example.payload.response.UserImportResponse;
+import com.example.payload.response.UserImportResponse.RowError;
+import com.example.repository.UserRepository;
+import com.example.utils.BoundedPasswordEncoder;
+import com.example.utils.RoleRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Imports CSV files into PostgreSQL, which the COPY-based loading is written for. Schema comes from the
+ * entities, so Flyway is off; a chunk size of 3 spreads the files over several chunks.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "users.import.chunk-size=3",
+        "users.import.hashing-threads=2",
+        "users.purge.pause=PT0S"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({UserImportService.class, UnverifiedUserPurgeService.class, UserAuthCache.class, SimpleMeterRegistry.class,
+        UserImportLoadTest.Config.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@RecordApplicationEvents
+class UserImportLoadTest {
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        BoundedPasswordEncoder passwordEncoder() {
+            return new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 4, 16, Duration.ofSeconds(1),
+                    new SimpleMeterRegistry());
+        }
+
+        @Bean
+        RoleRegistry roleRegistry() {
+            return RoleRegistry.of(List.of(role(1, "ROLE_USER"), role(2, "ROLE_ADMIN")));
+        }
+    }
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private UnverifiedUserPurgeService purgeService;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("insert into roles (id, name) values (1, 'ROLE_USER'), (2, 'ROLE_ADMIN') on conflict do nothing");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from users_roles");
+        jdbcTemplate.update("delete from users");
+    }
+
+    @Test
+    void importUsers_LoadsValidRowsAndReportsTheOthers() throws Exception {
+        jdbcTemplate.update("insert into users (id, email, password, is_email_verified, created_at, role_mask) " +
+                "values (nextval('users_id_seq'), 'taken@example.com', 'hash', true, now(), 0)");
+        String csv = """
+                email,password,role
+                one@example.com,password1,
+                two@example.com,"pass,word2",ROLE_ADMIN
+                taken@example.com,password3,
+                not-an-email,password4,
+                three@example.com,short,
+                one@example.com,password5,
+
+                four@example.com,password6,ROLE_AUDITOR
+                five@example.com,password7,ROLE_USER
+                """;
+
+        UserImportResponse response = userImportService.importUsers(stream(csv), true, false);
+
+        assertEquals(3, response.imported());
+        assertEquals(List.of(4L, 5L, 6L, 7L, 9L), response.errors().stream().map(RowError::line).toList());
+        assertEquals(5, response.rejected());
+        assertEquals("User with this email already exists", response.errors().get(0).message());
+        assertEquals("Unknown role: ROLE_AUDITOR", response.errors().get(4).message());
+
+        User two = userRepository.findWithRolesByEmail("two@example.com").orElseThrow();
+        assertEquals(List.of("ROLE_ADMIN"), two.getRoles().stream().map(Role::getName).toList());
+        assertTrue(passwordEncoder.matches("pass,word2", two.getPassword()));
+        assertFalse(two.isEmailVerified());
+        User five = userRepository.findWithRolesByEmail("five@example.com").orElseThrow();
+        assertEquals(List.of("ROLE_USER"), five.getRoles().stream().map(Role::getName).toList());
+        assertEquals(List.of("one@example.com", "two@example.com", "five@example.com"),
+                events.stream(UserSignedUpEvent.class).map(UserSignedUpEvent::email).toList());
+    }
+
+    @Test
+    void importUsers_MarkedVerified_CreatesVerifiedUsersWithoutSignupEvents() throws Exception {
+        UserImportResponse response = userImportService.importUsers(stream("email,password\nsix@example.com,password1\n"), false, true);
+
+        assertEquals(1, response.imported());
+        assertTrue(userRepository.findWithRolesByEmail("six@example.com").orElseThrow().isEmailVerified());
+        assertEquals(0, events.stream(UserSignedUpEvent.class).count());
+    }
+
+    @Test
+    void importUsers_MarkedVerified_SurvivesThePurgeThatDeletesUnconfirmedImports() throws Exception {
+        userImportService.importUsers(stream("email,password\nverified@example.com,password1\n"), false, true);
+        userImportService.importUsers(stream("email,password\nunconfirmed@example.com,password2\n"), true, false);
+
+        assertEquals(1, purgeService.purgeCreatedBefore(LocalDateTime.now().plusDays(1)));
+        assertEquals(List.of("verified@example.com"),
+                jdbcTemplate.queryForList("select email from users order by email", String.class));
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Role role(int id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.service;
+
+import com.example.entity.Role;
+import com.example.exceptions.InvalidImportException;
+import com.example.payload.response.UserImportResponse;
+import com.example.payload.response.UserImportResponse.RowError;
+import com.example.utils.BoundedPasswordEncoder;
+import com.example.utils.RoleRegistry;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Covers the checks made before anything is hashed or loaded; loading itself needs PostgreSQL and is
+ * covered by {@link UserImportLoadTest}.
+ */
+class UserImportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private BoundedPasswordEncoder hashingPool;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private ValidatorFactory validatorFactory;
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        when(hashingPool.threads()).thenReturn(8);
+        when(hashingPool.share(anyInt())).thenReturn(passwordEncoder);
+        userImportService = importService(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userImportService.close();
+        validatorFactory.close();
+    }
+
+    @Test
+    void constructor_HashesOnAtMostHalfThePool() {
+        verify(hashingPool).share(1);
+        importService(0).close();
+        importService(10).close();
+
+        verify(hashingPool, times(2)).share(4);
+    }
+
+    @Test
+    void importUsers_WithoutEmailAndPasswordHeader_Throws() {
+        assertThrows(InvalidImportException.class,
+                () -> userImportService.importUsers(stream("mail,secret\nuser@example.com,password\n"), true, false));
+        assertThrows(InvalidImportException.class, () -> userImportService.importUsers(stream(""), true, false));
+    }
+
+    @Test
+    void importUsers_NeitherConfirmedNorVerified_Throws() {
+        InvalidImportException exception = assertThrows(InvalidImportException.class,
+                () -> userImportService.importUsers(stream("email,password\nuser@example.com,password\n"), false, false));
+
+        assertEquals("Imported users must either get a confirmation email or be marked verified; " +
+                "unconfirmed users are deleted by the purge", exception.getMessage());
+        verifyNoInteractions(jdbcTemplate, passwordEncoder, eventPublisher);
+    }
+
+    @Test
+    void importUsers_BothConfirmedAndVerified_Throws() {
+        assertThrows(InvalidImportException.class,
+                () -> userImportService.importUsers(stream("email,password\nuser@example.com,password\n"), true, true));
+        verifyNoInteractions(jdbcTemplate, passwordEncoder, eventPublisher);
+    }
+
+    @Test
+    void importUsers_ReportsEachInvalidRowWithoutLoading() throws Exception {
+        String csv = """
+                role,password,email
+                ,password1,not-an-email
+                ,short,user@example.com
+                ROLE_ADMIN,password3,admin@example.com
+                ,password4,%s@example.com
+                ,password5
+                ,"password6,user@example.com
+                """.formatted("a".repeat(40));
+
+        UserImportResponse response = userImportService.importUsers(stream(csv), false, true);
+
+        assertEquals(0, response.imported());
+        assertEquals(6, response.rejected());
+        assertEquals(List.of(
+                        "Invalid email format",
+                        "Password must be between 6 and 20 characters",
+                        "Unknown role: ROLE_ADMIN",
+                        "Email must be at most 50 characters",
+                        "Expected 3 fields"),
+                response.errors().stream().limit(5).map(RowError::message).toList());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 7L), response.errors().stream().map(RowError::line).toList());
+        verifyNoInteractions(jdbcTemplate, passwordEncoder, eventPublisher);
+    }
+
+    private UserImportService importService(int hashingThreads) {
+        Role userRole = new Role();
+        userRole.setId(1);
+        userRole.setName("ROLE_USER");
+        return new UserImportService(jdbcTemplate, transactionManager, hashingPool,
+                validatorFactory.getValidator(), RoleRegistry.of(List.of(userRole)), eventPublisher, 10, hashingThreads);
+    }
+
+    private static ByteArrayInputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
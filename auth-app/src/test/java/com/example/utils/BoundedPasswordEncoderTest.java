@@ -0,0 +1,146 @@
+package com.example.utils;
+
+import com.example.exceptions.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private PasswordEncoder delegate;
+    private SimpleMeterRegistry meterRegistry;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(2), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordEncoder.close();
+    }
+
+    @Test
+    @DisplayName("Encode and Matches - Run on the hashing pool")
+    void encodeAndMatches_Delegated() {
+        when(delegate.encode("password")).thenAnswer(invocation -> Thread.currentThread().getName());
+        when(delegate.matches("password", "hash")).thenReturn(true);
+
+        assertEquals("password-hashing-1", passwordEncoder.encode("password"));
+        assertTrue(passwordEncoder.matches("password", "hash"));
+        assertEquals(2, meterRegistry.get("password.hashing.wait").timer().count());
+    }
+
+    @Test
+    @DisplayName("Encode - Delegate exception is rethrown")
+    void encode_DelegateExceptionRethrown() {
+        when(delegate.encode("password")).thenThrow(new IllegalArgumentException("bad password"));
+
+        assertThrows(IllegalArgumentException.class, () -> passwordEncoder.encode("password"));
+    }
+
+    @Test
+    @DisplayName("Encode - Rejected when the queue is full")
+    void encode_RejectedWhenQueueFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        when(delegate.encode("queued")).thenReturn("hash");
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        while (meterRegistry.get("password.hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        PasswordHashingOverloadedException e = assertThrows(PasswordHashingOverloadedException.class,
+                () -> passwordEncoder.encode("rejected"));
+        assertEquals(Duration.ofSeconds(2), e.getRetryAfter());
+        assertEquals(1.0, meterRegistry.get("password.hashing.rejected").counter().count());
+        verify(delegate, never()).encode("rejected");
+
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Share - Waits for room when the queue is full")
+    void share_WaitsWhenQueueFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode("slow")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "hash";
+        });
+        when(delegate.encode("queued")).thenReturn("hash");
+        when(delegate.encode("bulk")).thenReturn("bulk hash");
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("queued"));
+        while (meterRegistry.get("password.hashing.queue").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        PasswordEncoder share = passwordEncoder.share(1);
+        CompletableFuture<String> bulk = CompletableFuture.supplyAsync(() -> share.encode("bulk"));
+        assertThrows(TimeoutException.class, () -> bulk.get(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertEquals("bulk hash", bulk.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+        assertEquals(0.0, meterRegistry.get("password.hashing.rejected").counter().count());
+    }
+
+    @Test
+    @DisplayName("Share - Leaves the other threads free")
+    void share_LeavesOtherThreadsFree() throws Exception {
+        BoundedPasswordEncoder pool = new BoundedPasswordEncoder(delegate, 2, 4, Duration.ofSeconds(2), new SimpleMeterRegistry());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode("bulk")).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "bulk hash";
+        });
+        when(delegate.encode("interactive")).thenReturn("hash");
+        try {
+            PasswordEncoder share = pool.share(1);
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> share.encode("bulk"));
+            CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> share.encode("bulk"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertEquals("hash", CompletableFuture.supplyAsync(() -> pool.encode("interactive")).get(5, TimeUnit.SECONDS));
+            verify(delegate, times(1)).encode("bulk");
+
+            release.countDown();
+            assertEquals("bulk hash", first.get(5, TimeUnit.SECONDS));
+            assertEquals("bulk hash", second.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.close();
+        }
+    }
+}
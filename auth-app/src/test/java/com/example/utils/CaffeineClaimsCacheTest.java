@@ -0,0 +1,109 @@
+package com.example.utils;
+
+import com.example.entity.Role;
+import com.example.verifier.TokenVerificationException;
+import com.example.verifier.TokenVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CaffeineClaimsCacheTest {
+
+    private RoleRegistry roleRegistry;
+    private JwtTokenUtils jwtTokenUtils;
+    private SimpleMeterRegistry meterRegistry;
+    private CaffeineClaimsCache<VerifiedClaims> claimsCache;
+    private AtomicInteger verifications;
+    private TokenVerifier<VerifiedClaims> tokenVerifier;
+
+    @BeforeEach
+    void setUp() {
+        roleRegistry = RoleRegistry.of(List.of(role(1, "ROLE_USER"), role(2, "ROLE_ADMIN")));
+        jwtTokenUtils = new JwtTokenUtils(roleRegistry, JwtKeyRing.empty());
+        jwtTokenUtils.setSecretKey("testSecretKey");
+        jwtTokenUtils.setSecretKeyForRefresh("testRefreshSecretKey");
+        jwtTokenUtils.setJwtLifetime(Duration.ofMinutes(30));
+        jwtTokenUtils.setJwtRefreshLifetime(Duration.ofDays(1));
+        meterRegistry = new SimpleMeterRegistry();
+        claimsCache = new CaffeineClaimsCache<>(100, meterRegistry, "jwt.claims");
+        verifications = new AtomicInteger();
+        tokenVerifier = TokenVerifier.builder(jwtTokenUtils.getAccessKeySource())
+                .build(token -> {
+                    verifications.incrementAndGet();
+                    return VerifiedClaims.from(token, roleRegistry);
+                }, claimsCache);
+    }
+
+    @Test
+    @DisplayName("Verify - Token is parsed only once")
+    void verify_TokenParsedOnce() {
+        String token = jwtTokenUtils.generateToken(userDetails("testUser"));
+
+        VerifiedClaims first = tokenVerifier.verify(token);
+        VerifiedClaims second = tokenVerifier.verify(token);
+
+        assertSame(first, second);
+        assertEquals("testUser", first.username());
+        assertEquals("ROLE_USER", first.authorities().get(0).getAuthority());
+        assertEquals(1, verifications.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "jwt.claims").tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    @DisplayName("Verify - Authorities are shared between tokens")
+    void verify_AuthoritiesShared() {
+        jwtTokenUtils.setCompactRoles(true);
+        VerifiedClaims first = tokenVerifier.verify(jwtTokenUtils.generateToken(userDetails("firstUser")));
+        VerifiedClaims second = tokenVerifier.verify(jwtTokenUtils.generateToken(userDetails("secondUser")));
+
+        assertSame(first.authorities(), second.authorities());
+        assertEquals("ROLE_USER", first.authorities().get(0).getAuthority());
+    }
+
+    @Test
+    @DisplayName("Verify - Invalid token is not cached")
+    void verify_InvalidTokenNotCached() {
+        assertThrows(TokenVerificationException.class, () -> tokenVerifier.verify("invalidToken"));
+        assertThrows(TokenVerificationException.class, () -> tokenVerifier.verify("invalidToken"));
+
+        assertEquals(0, claimsCache.size());
+        assertEquals(0, verifications.get());
+    }
+
+    @Test
+    @DisplayName("Verify - Expired token is rejected and not cached")
+    void verify_ExpiredTokenNotCached() {
+        jwtTokenUtils.setJwtLifetime(Duration.ofSeconds(-1));
+        String token = jwtTokenUtils.generateToken(userDetails("testUser"));
+
+        TokenVerificationException e = assertThrows(TokenVerificationException.class, () -> tokenVerifier.verify(token));
+
+        assertEquals(TokenVerificationException.Reason.EXPIRED, e.getReason());
+        assertEquals(0, claimsCache.size());
+    }
+
+    private UserDetails userDetails(String username) {
+        GrantedAuthority authority = new SimpleGrantedAuthority("ROLE_USER");
+        return new User(username, "password", Collections.singleton(authority));
+    }
+
+    private static Role role(int id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
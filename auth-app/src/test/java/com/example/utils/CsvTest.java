@@ -0,0 +1,42 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTest {
+
+    @Test
+    @DisplayName("Quote - Only When Needed")
+    void quote_OnlyWhenNeeded() {
+        assertEquals("plain", Csv.quote("plain"));
+        assertEquals("\"a,b\"", Csv.quote("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", Csv.quote("say \"hi\""));
+        assertEquals("", Csv.quote(null));
+    }
+
+    @Test
+    @DisplayName("Split - Plain And Quoted Fields")
+    void split_PlainAndQuotedFields() {
+        assertEquals(List.of("a", "", "c"), Csv.split("a,,c"));
+        assertEquals(List.of("a,b", "say \"hi\"", ""), Csv.split("\"a,b\",\"say \"\"hi\"\"\","));
+    }
+
+    @Test
+    @DisplayName("Split - Reverses Quote")
+    void split_ReversesQuote() {
+        List<String> fields = List.of("user@example.com", "p,a\"ss", "ROLE_USER");
+        String line = String.join(",", fields.stream().map(Csv::quote).toList());
+
+        assertEquals(fields, Csv.split(line));
+    }
+
+    @Test
+    @DisplayName("Split - Unterminated Quote")
+    void split_UnterminatedQuote() {
+        assertThrows(IllegalArgumentException.class, () -> Csv.split("\"open,field"));
+    }
+}
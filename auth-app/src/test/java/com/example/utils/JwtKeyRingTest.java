@@ -0,0 +1,68 @@
+package com.example.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.security.PrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRingTest {
+
+    @Test
+    void of_PublishesActiveAndRetiredKeys() throws Exception {
+        JwtKeyRing active = JwtKeyRing.generate();
+        JwtKeyRing retired = JwtKeyRing.generate();
+        Map<String, ECPublicKey> publicKeys = new LinkedHashMap<>();
+        publicKeys.put("2024-06", reparse(active.verificationKey(active.activeKeyId())));
+        publicKeys.put("2024-01", retired.verificationKey(retired.activeKeyId()));
+
+        JwtKeyRing keyRing = JwtKeyRing.of("2024-06", reparse(active.activeKey()), publicKeys);
+
+        JsonNode keys = new ObjectMapper().readTree(keyRing.jwks()).get("keys");
+        assertEquals(2, keys.size());
+        assertEquals("2024-06", keys.get(0).get("kid").asText());
+        assertEquals("ES256", keys.get(0).get("alg").asText());
+        assertEquals(32, Base64.getUrlDecoder().decode(keys.get(0).get("x").asText()).length);
+        assertEquals(32, Base64.getUrlDecoder().decode(keys.get(0).get("y").asText()).length);
+        assertEquals("2024-01", keys.get(1).get("kid").asText());
+        assertNotNull(keyRing.verificationKey("2024-01"));
+        assertNull(keyRing.verificationKey("unknown"));
+    }
+
+    @Test
+    void of_Failure_MismatchedKeyPair() {
+        JwtKeyRing first = JwtKeyRing.generate();
+        JwtKeyRing second = JwtKeyRing.generate();
+
+        assertThrows(IllegalArgumentException.class, () -> JwtKeyRing.of("key",
+                first.activeKey(), Map.of("key", second.verificationKey(second.activeKeyId()))));
+    }
+
+    @Test
+    void of_Failure_KeyIdNotUsableInHeader() {
+        JwtKeyRing generated = JwtKeyRing.generate();
+
+        assertThrows(IllegalArgumentException.class, () -> JwtKeyRing.of("bad\"kid",
+                generated.activeKey(), Map.of("bad\"kid", generated.verificationKey(generated.activeKeyId()))));
+    }
+
+    @Test
+    void empty_HasNoKeys() {
+        assertTrue(JwtKeyRing.empty().isEmpty());
+        assertEquals("{\"keys\":[]}", JwtKeyRing.empty().jwks());
+    }
+
+    private static ECPublicKey reparse(ECPublicKey key) {
+        return JwtKeyRing.parsePublicKey(Base64.getEncoder().encodeToString(key.getEncoded()));
+    }
+
+    private static PrivateKey reparse(PrivateKey key) {
+        return JwtKeyRing.parsePrivateKey(Base64.getEncoder().encodeToString(key.getEncoded()));
+    }
+}
@@ -0,0 +1,257 @@
+package com.example.utils;
+
+import com.example.config.TokenVerifierConfiguration;
+import com.example.entity.Role;
+import com.example.verifier.TokenVerificationException;
+import com.example.verifier.TokenVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenUtilsTest {
+    @InjectMocks
+    private JwtTokenUtils jwtTokenUtils;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtils = new JwtTokenUtils(roleRegistry(), JwtKeyRing.empty());
+        jwtTokenUtils.setSecretKey("testSecretKey");
+        jwtTokenUtils.setSecretKeyForRefresh("testRefreshSecretKey");
+        jwtTokenUtils.setJwtLifetime(Duration.ofMinutes(30));
+        jwtTokenUtils.setJwtRefreshLifetime(Duration.ofDays(1));
+    }
+
+    @Test
+    @DisplayName("Generate Token - Positive Case")
+    void generateToken_PositiveCase() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+
+        assertNotNull(token);
+        assertEquals("testUser", jwtTokenUtils.getUsername(token));
+        assertEquals(1, jwtTokenUtils.getRoles(token).size());
+        assertEquals("ROLE_USER", jwtTokenUtils.getRoles(token).get(0));
+    }
+
+    @Test
+    @DisplayName("Generate Refresh Token - Positive Case")
+    void generateRefreshToken_PositiveCase() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        jwtTokenUtils.setSecretKeyForRefresh("testSecretKey");
+        String refreshToken = jwtTokenUtils.generateRefreshToken(userDetails);
+
+        assertNotNull(refreshToken);
+        assertEquals("testUser", jwtTokenUtils.getUsername(refreshToken));
+        assertEquals(1, jwtTokenUtils.getRoles(refreshToken).size());
+        assertEquals("ROLE_ADMIN", jwtTokenUtils.getRoles(refreshToken).get(0));
+    }
+
+    @Test
+    @DisplayName("Generate Token Pair - Positive Case")
+    void generateTokenPair_PositiveCase() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        jwtTokenUtils.setSecretKeyForRefresh("testSecretKey");
+        UUID familyId = UUID.randomUUID();
+        TokenPair tokens = jwtTokenUtils.generateTokenPair(userDetails, familyId, 2);
+
+        assertEquals("testUser", jwtTokenUtils.getUsername(tokens.token()));
+        assertNull(jwtTokenUtils.getAllClaimsFromToken(tokens.token()).stringClaim("fid"));
+        assertEquals(familyId.toString(), jwtTokenUtils.getAllClaimsFromRefreshToken(tokens.refreshToken()).stringClaim("fid"));
+        assertEquals(2L, jwtTokenUtils.getAllClaimsFromRefreshToken(tokens.refreshToken()).longClaim("gen"));
+        assertEquals("testUser", jwtTokenUtils.getUsername(tokens.refreshToken()));
+        assertEquals("ROLE_USER", jwtTokenUtils.getRoles(tokens.refreshToken()).get(0));
+        assertTrue(jwtTokenUtils.getAllClaimsFromToken(tokens.refreshToken()).expiresAt()
+                .isAfter(jwtTokenUtils.getAllClaimsFromToken(tokens.token()).expiresAt()));
+    }
+
+    @Test
+    @DisplayName("Generate Token Pair - Every token has its own id")
+    void generateTokenPair_DistinctTokenIds() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        jwtTokenUtils.setSecretKeyForRefresh("testSecretKey");
+        TokenPair tokens = jwtTokenUtils.generateTokenPair(userDetails, UUID.randomUUID(), 0);
+
+        UUID accessTokenId = UUID.fromString(jwtTokenUtils.getAllClaimsFromToken(tokens.token()).tokenId());
+        UUID refreshTokenId = UUID.fromString(jwtTokenUtils.getAllClaimsFromRefreshToken(tokens.refreshToken()).tokenId());
+        assertEquals(4, accessTokenId.version());
+        assertEquals(2, accessTokenId.variant());
+        assertNotEquals(accessTokenId, refreshTokenId);
+    }
+
+    @Test
+    @DisplayName("Generate Token - Subject and roles are JSON escaped")
+    void generateToken_EscapesClaims() {
+        UserDetails userDetails = new User("test\"User\\", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_\"ADMIN")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+
+        assertEquals("test\"User\\", jwtTokenUtils.getUsername(token));
+        assertEquals("ROLE_\"ADMIN", jwtTokenUtils.getRoles(token).get(0));
+    }
+
+    @Test
+    @DisplayName("Generate Token - Verifiable By jjwt")
+    void generateToken_VerifiableByJjwt() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+
+        Claims claims = Jwts.parser().setSigningKey("testSecretKey").parseClaimsJws(token).getBody();
+        assertEquals("testUser", claims.getSubject());
+        assertEquals(jwtTokenUtils.getAllClaimsFromToken(token).expiresAt(), claims.getExpiration().toInstant());
+    }
+
+    @Test
+    @DisplayName("Generate Token - Compact Roles")
+    void generateToken_CompactRoles() {
+        jwtTokenUtils.setCompactRoles(true);
+        UserDetails userDetails = new User("testUser", "password",
+                List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+
+        assertEquals(3L, jwtTokenUtils.getAllClaimsFromToken(token).longClaim("rm"));
+        assertNull(jwtTokenUtils.getAllClaimsFromToken(token).stringListClaim("roles"));
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), jwtTokenUtils.getRoles(token));
+    }
+
+    @Test
+    @DisplayName("Generate Token - Compact Roles Fall Back For Unknown Role")
+    void generateToken_CompactRolesUnknownRole() {
+        jwtTokenUtils.setCompactRoles(true);
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_AUDITOR")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+
+        assertNull(jwtTokenUtils.getAllClaimsFromToken(token).longClaim("rm"));
+        assertEquals(List.of("ROLE_AUDITOR"), jwtTokenUtils.getRoles(token));
+    }
+
+    @Test
+    @DisplayName("Get Refresh Token Claims - Access Token Rejected")
+    void getAllClaimsFromRefreshToken_AccessTokenRejected() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+
+        assertThrows(Exception.class, () -> jwtTokenUtils.getAllClaimsFromRefreshToken(token));
+    }
+
+    @Test
+    @DisplayName("Generate Token - ES256 Verifiable With Published Key")
+    void generateToken_Es256() {
+        JwtKeyRing keyRing = JwtKeyRing.generate();
+        JwtTokenUtils es256TokenUtils = es256TokenUtils(keyRing);
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = es256TokenUtils.generateToken(userDetails);
+
+        assertEquals("testUser", es256TokenUtils.getUsername(token));
+        assertEquals(keyRing.activeKeyId(), Jwts.parser().setSigningKey(keyRing.verificationKey(keyRing.activeKeyId()))
+                .parseClaimsJws(token).getHeader().getKeyId());
+    }
+
+    @Test
+    @DisplayName("Get Username - HS256 Tokens Expiring By The Cutoff Accepted After Switching To ES256")
+    void getUsername_Hs256AcceptedAfterSwitchUntilCutoff() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+        JwtTokenUtils es256TokenUtils = es256TokenUtils(JwtKeyRing.generate());
+        es256TokenUtils.setHs256AcceptedUntil(Instant.now().plus(Duration.ofHours(1)).toString());
+
+        assertEquals("testUser", es256TokenUtils.getUsername(token));
+    }
+
+    @Test
+    @DisplayName("Get Username - HS256 Tokens Outliving The Cutoff Rejected After Switching To ES256")
+    void getUsername_Hs256RejectedAfterSwitchBeyondCutoff() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+        JwtTokenUtils es256TokenUtils = es256TokenUtils(JwtKeyRing.generate());
+
+        assertThrows(TokenVerificationException.class, () -> es256TokenUtils.getUsername(token));
+
+        es256TokenUtils.setHs256AcceptedUntil(Instant.now().plus(Duration.ofMinutes(10)).toString());
+
+        assertThrows(TokenVerificationException.class, () -> es256TokenUtils.getUsername(token));
+    }
+
+    @Test
+    @DisplayName("Filter Verifier - HS256 Tokens Outliving The Cutoff Rejected After Switching To ES256")
+    void accessTokenVerifier_Hs256RejectedAfterSwitchBeyondCutoff() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = jwtTokenUtils.generateToken(userDetails);
+        TokenVerifier<VerifiedClaims> verifier = new TokenVerifierConfiguration().accessTokenVerifier(
+                es256TokenUtils(JwtKeyRing.generate()), roleRegistry(), new SimpleMeterRegistry(), 100);
+
+        assertThrows(TokenVerificationException.class, () -> verifier.verify(token));
+    }
+
+    @Test
+    @DisplayName("Get Username - ES256 Token Of Unknown Key Rejected")
+    void getUsername_UnknownKeyRejected() {
+        UserDetails userDetails = new User("testUser", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_USER")));
+        String token = es256TokenUtils(JwtKeyRing.generate()).generateToken(userDetails);
+
+        assertThrows(Exception.class, () -> es256TokenUtils(JwtKeyRing.generate()).getUsername(token));
+        assertThrows(Exception.class, () -> jwtTokenUtils.getUsername(token));
+    }
+
+    @Test
+    @DisplayName("Generate Token - Null UserDetails")
+    void generateToken_NullUserDetails() {
+        assertThrows(NullPointerException.class, () -> jwtTokenUtils.generateToken(null));
+    }
+
+    @Test
+    @DisplayName("Generate Refresh Token - Null UserDetails")
+    void generateRefreshToken_NullUserDetails() {
+        assertThrows(NullPointerException.class, () -> jwtTokenUtils.generateRefreshToken(null));
+    }
+
+    @Test
+    @DisplayName("Get Username - Null Token")
+    void getUsername_NullToken() {
+        assertThrows(IllegalArgumentException.class, () -> jwtTokenUtils.getUsername(null));
+    }
+
+    @Test
+    @DisplayName("Get Roles - Null Token")
+    void getRoles_NullToken() {
+        assertThrows(IllegalArgumentException.class, () -> jwtTokenUtils.getRoles(null));
+    }
+
+    @Test
+    @DisplayName("Get Roles - Invalid Token")
+    void getRoles_InvalidToken() {
+        assertThrows(Exception.class, () -> jwtTokenUtils.getRoles("invalidToken"));
+    }
+
+    private static JwtTokenUtils es256TokenUtils(JwtKeyRing keyRing) {
+        JwtTokenUtils tokenUtils = new JwtTokenUtils(roleRegistry(), keyRing);
+        tokenUtils.setSecretKey("testSecretKey");
+        tokenUtils.setSecretKeyForRefresh("testRefreshSecretKey");
+        tokenUtils.setJwtLifetime(Duration.ofMinutes(30));
+        tokenUtils.setJwtRefreshLifetime(Duration.ofDays(1));
+        return tokenUtils;
+    }
+
+    private static RoleRegistry roleRegistry() {
+        Role user = new Role();
+        user.setId(1);
+        user.setName("ROLE_USER");
+        Role admin = new Role();
+        admin.setId(2);
+        admin.setName("ROLE_ADMIN");
+        return RoleRegistry.of(List.of(user, admin));
+    }
+}
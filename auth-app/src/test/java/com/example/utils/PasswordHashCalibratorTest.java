@@ -0,0 +1,51 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHashCalibratorTest {
+
+    @Test
+    @DisplayName("BCrypt Strength - Highest strength within the target")
+    void bcryptStrength_HighestWithinTarget() {
+        assertEquals(12, PasswordHashCalibrator.bcryptStrength(Duration.ofMillis(80), 10, Duration.ofMillis(20)));
+        assertEquals(11, PasswordHashCalibrator.bcryptStrength(Duration.ofMillis(79), 10, Duration.ofMillis(20)));
+    }
+
+    @Test
+    @DisplayName("BCrypt Strength - Never below the minimum or above the maximum")
+    void bcryptStrength_Bounded() {
+        assertEquals(10, PasswordHashCalibrator.bcryptStrength(Duration.ofMillis(80), 10, Duration.ofMillis(200)));
+        assertEquals(PasswordHashCalibrator.MAX_BCRYPT_STRENGTH,
+                PasswordHashCalibrator.bcryptStrength(Duration.ofSeconds(1), 10, Duration.ofNanos(1)));
+    }
+
+    @Test
+    @DisplayName("Argon2 Iterations - Scaled linearly and bounded")
+    void argon2Iterations_ScaledAndBounded() {
+        assertEquals(8, PasswordHashCalibrator.argon2Iterations(Duration.ofMillis(80), 2, Duration.ofMillis(20)));
+        assertEquals(2, PasswordHashCalibrator.argon2Iterations(Duration.ofMillis(80), 2, Duration.ofMillis(500)));
+        assertEquals(PasswordHashCalibrator.MAX_ARGON2_ITERATIONS,
+                PasswordHashCalibrator.argon2Iterations(Duration.ofSeconds(10), 2, Duration.ofMillis(2)));
+    }
+
+    @Test
+    @DisplayName("BCrypt Strength - Measured on this machine")
+    void bcryptStrength_Measured() {
+        int strength = PasswordHashCalibrator.bcryptStrength(Duration.ofMillis(1), 4);
+
+        assertTrue(strength >= 4 && strength <= PasswordHashCalibrator.MAX_BCRYPT_STRENGTH);
+    }
+
+    @Test
+    @DisplayName("Argon2 Iterations - Measured on this machine")
+    void argon2Iterations_Measured() {
+        int iterations = PasswordHashCalibrator.argon2Iterations(Duration.ofMillis(1), 1024, 1, 1);
+
+        assertTrue(iterations >= 1 && iterations <= PasswordHashCalibrator.MAX_ARGON2_ITERATIONS);
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.utils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Routes between two in-memory databases, a primary and a replica, each knowing its own name. The replica
+ * reports its lag from a table, so the test can put it behind.
+ */
+class ReplicaDataSourceTest {
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaDataSource replicaDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        new JdbcTemplate(replica).execute("create table replica_lag (seconds double precision)");
+        new JdbcTemplate(replica).update("insert into replica_lag values (0)");
+
+        replicaDataSource = new ReplicaDataSource(primary, List.of(replica), "select seconds from replica_lag",
+                Duration.ofSeconds(5), Duration.ZERO, new SimpleMeterRegistry());
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (!replica.isClosed()) {
+            new JdbcTemplate(replica).execute("shutdown");
+        }
+        replicaDataSource.close();
+        new JdbcTemplate(primary).execute("shutdown");
+        primary.close();
+    }
+
+    @Test
+    void readOnlyTransaction_ReadsFromReplica_OtherTransactionsFromPrimary() {
+        replicaDataSource.checkReplicas();
+
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+        assertEquals("primary", transaction.execute(status -> node()));
+        assertEquals(1, replicaDataSource.availableReplicas());
+    }
+
+    @Test
+    void readOnlyTransaction_BeforeFirstCheck_ReadsFromPrimary() {
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaBehind_ReadsFromPrimaryUntilCaughtUp() {
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 30");
+        replicaDataSource.checkReplicas();
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+
+        new JdbcTemplate(replica).update("update replica_lag set seconds = 1");
+        replicaDataSource.checkReplicas();
+
+        assertEquals("replica", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    void readOnlyTransaction_ReplicaDown_ReadsFromPrimary() {
+        replicaDataSource.checkReplicas();
+        new JdbcTemplate(replica).execute("shutdown");
+        replica.close();
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+        assertEquals(0, replicaDataSource.availableReplicas());
+    }
+
+    @Test
+    void getConnectionWithCredentials_ConnectsToReplicaAsThatUser() throws Exception {
+        new JdbcTemplate(replica).execute("create user reader password 'secret' admin");
+        JdbcDataSource replicaWithCredentials = new JdbcDataSource();
+        replicaWithCredentials.setURL("jdbc:h2:mem:replica");
+        try (ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(replicaWithCredentials),
+                "select seconds from replica_lag", Duration.ofSeconds(5), Duration.ZERO, new SimpleMeterRegistry())) {
+            dataSource.checkReplicas();
+
+            try (Connection connection = dataSource.getConnection("reader", "secret")) {
+                assertEquals("READER", connection.getMetaData().getUserName());
+                assertEquals("replica", new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                        .queryForObject("select name from node", String.class));
+            }
+        }
+    }
+
+    @Test
+    void getConnectionWithCredentials_PoolWithoutSupport_LeavesReplicaAvailable() {
+        replicaDataSource.checkReplicas();
+
+        assertThrows(SQLFeatureNotSupportedException.class, () -> replicaDataSource.getConnection("sa", ""));
+        assertEquals(1, replicaDataSource.availableReplicas());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table node (name varchar(16))");
+        jdbcTemplate.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedTokenSetTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void contains_OnlyAddedTokens(boolean bloomFilter) {
+        RevokedTokenSet set = new RevokedTokenSet(bloomFilter);
+        List<UUID> revoked = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            UUID tokenId = UUID.randomUUID();
+            set.add(tokenId, NOW + 60);
+            revoked.add(tokenId);
+        }
+
+        assertEquals(1000, set.size());
+        revoked.forEach(tokenId -> assertTrue(set.contains(tokenId, NOW)));
+        for (int i = 0; i < 1000; i++) {
+            assertFalse(set.contains(UUID.randomUUID(), NOW));
+        }
+    }
+
+    @Test
+    void contains_FalseOnceExpired() {
+        RevokedTokenSet set = new RevokedTokenSet(true);
+        UUID tokenId = UUID.randomUUID();
+        set.add(tokenId, NOW + 60);
+
+        assertTrue(set.contains(tokenId, NOW + 59));
+        assertFalse(set.contains(tokenId, NOW + 60));
+    }
+
+    @Test
+    void add_SameTokenKeepsLatestExpiry() {
+        RevokedTokenSet set = new RevokedTokenSet(false);
+        UUID tokenId = UUID.randomUUID();
+        set.add(tokenId, NOW + 120);
+        set.add(tokenId, NOW + 60);
+
+        assertEquals(1, set.size());
+        assertTrue(set.contains(tokenId, NOW + 90));
+    }
+
+    @Test
+    void removeExpired_DropsOnlyExpiredEntries() {
+        RevokedTokenSet set = new RevokedTokenSet(true);
+        UUID live = UUID.randomUUID();
+        set.add(live, NOW + 600);
+        for (int i = 0; i < 500; i++) {
+            set.add(UUID.randomUUID(), NOW + 10);
+        }
+
+        assertEquals(500, set.removeExpired(NOW + 10));
+        assertEquals(1, set.size());
+        assertTrue(set.contains(live, NOW + 10));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.utils;
+
+import com.example.entity.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoleRegistryTest {
+
+    private RoleRegistry roleRegistry;
+
+    @BeforeEach
+    void setUp() {
+        roleRegistry = RoleRegistry.of(List.of(role(1, "ROLE_USER"), role(2, "ROLE_ADMIN")));
+    }
+
+    @Test
+    @DisplayName("Mask Of - Known Roles")
+    void maskOf_KnownRoles() {
+        assertEquals(1, roleRegistry.maskOf(List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+        assertEquals(3, roleRegistry.maskOf(List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"))));
+        assertEquals(0, roleRegistry.maskOf(List.of()));
+    }
+
+    @Test
+    @DisplayName("Mask Of - Unknown Role")
+    void maskOf_UnknownRole() {
+        assertEquals(RoleRegistry.NOT_ENCODABLE, roleRegistry.maskOf(List.of(new SimpleGrantedAuthority("ROLE_AUDITOR"))));
+    }
+
+    @Test
+    @DisplayName("Encodes - Only Masks Of Known Roles")
+    void encodes_KnownRolesOnly() {
+        assertTrue(roleRegistry.encodes(0));
+        assertTrue(roleRegistry.encodes(3));
+        assertFalse(roleRegistry.encodes(4));
+        assertFalse(roleRegistry.encodes(RoleRegistry.NOT_ENCODABLE));
+    }
+
+    @Test
+    @DisplayName("Authorities Of - Mask Returns Shared List")
+    void authoritiesOf_MaskShared() {
+        List<GrantedAuthority> authorities = roleRegistry.authoritiesOf(3);
+
+        assertSame(authorities, roleRegistry.authoritiesOf(3));
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"), roleRegistry.namesOf(3));
+        assertSame(authorities.get(0), roleRegistry.authoritiesOf(1).get(0));
+    }
+
+    @Test
+    @DisplayName("Authorities Of - Unknown Bits Ignored")
+    void authoritiesOf_UnknownBitsIgnored() {
+        assertEquals(List.of("ROLE_ADMIN"), roleRegistry.namesOf(2 | 1 << 7));
+    }
+
+    @Test
+    @DisplayName("Authorities Of - Names Reuse Registry Authorities")
+    void authoritiesOf_NamesShared() {
+        List<GrantedAuthority> authorities = roleRegistry.authoritiesOf(List.of("ROLE_ADMIN", "ROLE_AUDITOR"));
+
+        assertSame(roleRegistry.authoritiesOf(2).get(0), authorities.get(0));
+        assertEquals("ROLE_AUDITOR", authorities.get(1).getAuthority());
+        assertSame(authorities, roleRegistry.authoritiesOf(List.of("ROLE_ADMIN", "ROLE_AUDITOR")));
+    }
+
+    private static Role role(int id, String name) {
+        Role role = new Role();
+        role.setId(id);
+        role.setName(name);
+        return role;
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlidingWindowCounterTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    @DisplayName("Count - Events in the current window")
+    void count_CurrentWindow() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMillis(WINDOW), 1000);
+
+        counter.increment("key", 0);
+        counter.increment("key", 1_000);
+
+        assertEquals(2.0, counter.count("key", 2_000));
+        assertEquals(0.0, counter.count("other", 2_000));
+    }
+
+    @Test
+    @DisplayName("Count - Previous window decays as it slides out")
+    void count_PreviousWindowDecays() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMillis(WINDOW), 1000);
+        for (int i = 0; i < 4; i++) {
+            counter.increment("key", 10_000);
+        }
+
+        assertEquals(3.0, counter.count("key", WINDOW + WINDOW / 4), 1e-9);
+        assertEquals(1.0 + 2.0, counter.increment("key", WINDOW + WINDOW / 2), 1e-9);
+        assertEquals(0.0, counter.count("key", 3 * WINDOW));
+    }
+
+    @Test
+    @DisplayName("Reset - Forgets the key")
+    void reset_ForgetsKey() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMillis(WINDOW), 1000);
+        counter.increment("key", 0);
+
+        counter.reset("key");
+
+        assertEquals(0.0, counter.count("key", 0));
+        assertEquals(0, counter.size());
+    }
+
+    @Test
+    @DisplayName("Size - Bounded and stale keys evicted")
+    void size_BoundedAndStaleEvicted() {
+        SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofMillis(WINDOW), 64 * 4);
+        for (int i = 0; i < 10_000; i++) {
+            counter.increment("key" + i, 0);
+        }
+        assertTrue(counter.size() <= 64 * 4);
+
+        for (int i = 0; i < 10_000; i++) {
+            counter.increment("later" + i, 3 * WINDOW);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(0.0, counter.count("key" + i, 3 * WINDOW));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.utils;
+
+import com.example.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCursorTest {
+
+    @Test
+    @DisplayName("Encode - Round Trip")
+    void encode_RoundTrip() {
+        UserCursor cursor = new UserCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 15, 123_456_000), 42);
+
+        String token = cursor.encode();
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, UserCursor.decode(token));
+    }
+
+    @Test
+    @DisplayName("Decode - Not Base64")
+    void decode_NotBase64() {
+        assertThrows(InvalidCursorException.class, () -> UserCursor.decode("not a cursor!"));
+    }
+
+    @Test
+    @DisplayName("Decode - Malformed Position")
+    void decode_MalformedPosition() {
+        assertThrows(InvalidCursorException.class, () -> UserCursor.decode(encoded("2024-03-01T12:30")));
+        assertThrows(InvalidCursorException.class, () -> UserCursor.decode(encoded("yesterday|42")));
+        assertThrows(InvalidCursorException.class, () -> UserCursor.decode(encoded("2024-03-01T12:30|x")));
+    }
+
+    private static String encoded(String position) {
+        return Base64.getUrlEncoder().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+}
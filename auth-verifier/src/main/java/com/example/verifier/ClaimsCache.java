@@ -0,0 +1,35 @@
+package com.example.verifier;
+
+import java.time.Instant;
+
+/**
+ * Remembers what verifying a token produced, so a token seen again skips signature check and parsing.
+ * Implementations must be thread-safe and must never return an entry after its {@code expiresAt}.
+ *
+ * @param <T> what the verifier maps verified tokens to
+ */
+public interface ClaimsCache<T> {
+
+    /**
+     * @return the cached claims, or {@code null} when the token is not cached or has expired
+     */
+    T get(String token);
+
+    void put(String token, T claims, Instant expiresAt);
+
+    /**
+     * A cache that never holds anything, so every token is verified.
+     */
+    static <T> ClaimsCache<T> none() {
+        return new ClaimsCache<>() {
+            @Override
+            public T get(String token) {
+                return null;
+            }
+
+            @Override
+            public void put(String token, T claims, Instant expiresAt) {
+            }
+        };
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.verifier;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dependency-free {@link ClaimsCache} for services that have no cache library at hand.
+ * It holds at most {@code maxSize} tokens: when full, expired entries are dropped and, if that
+ * frees nothing, new tokens are simply not cached until some expire. Use a real cache with
+ * an eviction policy when the number of live tokens exceeds what can be held.
+ */
+public class ConcurrentClaimsCache<T> implements ClaimsCache<T> {
+
+    private final ConcurrentHashMap<String, Entry<T>> entries = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final Clock clock;
+
+    public ConcurrentClaimsCache(int maxSize) {
+        this(maxSize, Clock.systemUTC());
+    }
+
+    public ConcurrentClaimsCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    @Override
+    public T get(String token) {
+        Entry<T> entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtMillis() <= clock.millis()) {
+            entries.remove(token, entry);
+            return null;
+        }
+        return entry.claims();
+    }
+
+    @Override
+    public void put(String token, T claims, Instant expiresAt) {
+        if (entries.size() >= maxSize) {
+            long now = clock.millis();
+            entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            if (entries.size() >= maxSize) {
+                return;
+            }
+        }
+        entries.put(token, new Entry<>(claims, expiresAt.toEpochMilli()));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private record Entry<T>(T claims, long expiresAtMillis) {
+    }
+}
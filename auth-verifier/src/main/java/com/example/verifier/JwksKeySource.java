@@ -0,0 +1,159 @@
+package com.example.verifier;
+
+import java.math.BigInteger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ES256 keys read from a JWK Set URL, such as auth-app's {@code /.well-known/jwks.json}, and
+ * refreshed in the background. Lookups only read the last fetched key set, so verification never
+ * waits for the network. A token naming an unknown {@code kid} triggers an early refresh, at most
+ * once every ten seconds, so it is rejected but a newly published key is picked up soon.
+ * <p>
+ * When a refresh fails the previous keys are kept.
+ */
+public final class JwksKeySource implements KeySource, AutoCloseable {
+
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(10);
+
+    private static final System.Logger LOG = System.getLogger(JwksKeySource.class.getName());
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final URI uri;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService scheduler;
+    private final long minRefreshNanos;
+    private final AtomicLong lastRefreshNanos = new AtomicLong();
+    private volatile Map<String, VerificationKey> keys = Map.of();
+
+    private JwksKeySource(URI uri, Duration minRefreshInterval) {
+        this.uri = uri;
+        this.minRefreshNanos = minRefreshInterval.toNanos();
+        this.httpClient = HttpClient.newBuilder().connectTimeout(TIMEOUT).build();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jwks-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fetches the key set once, waiting for it, then every {@code refreshInterval} in the background.
+     * The refresh interval should not exceed the {@code max-age} the issuer publishes the key set with.
+     */
+    public static JwksKeySource start(URI uri, Duration refreshInterval) {
+        return start(uri, refreshInterval, MIN_REFRESH_INTERVAL);
+    }
+
+    static JwksKeySource start(URI uri, Duration refreshInterval, Duration minRefreshInterval) {
+        JwksKeySource source = new JwksKeySource(uri, minRefreshInterval);
+        source.refresh();
+        long interval = refreshInterval.toMillis();
+        source.scheduler.scheduleWithFixedDelay(source::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        return source;
+    }
+
+    @Override
+    public VerificationKey find(String algorithm, String keyId) {
+        VerificationKey key = keyId == null ? null : keys.get(keyId);
+        if (key == null) {
+            if (keyId != null) {
+                refreshEarly();
+            }
+            return null;
+        }
+        return key.algorithm().equals(algorithm) ? key : null;
+    }
+
+    /**
+     * Number of keys of the last successful refresh.
+     */
+    public int size() {
+        return keys.size();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void refreshEarly() {
+        long now = System.nanoTime();
+        long last = lastRefreshNanos.get();
+        if (now - last >= minRefreshNanos && lastRefreshNanos.compareAndSet(last, now)) {
+            scheduler.execute(this::refresh);
+        }
+    }
+
+    private void refresh() {
+        lastRefreshNanos.set(System.nanoTime());
+        try {
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET().build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                LOG.log(System.Logger.Level.WARNING, "JWKS refresh from {0} failed with status {1}", uri, response.statusCode());
+                return;
+            }
+            keys = parse(response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOG.log(System.Logger.Level.WARNING, "JWKS refresh from " + uri + " failed, keeping the previous keys", e);
+        }
+    }
+
+    /**
+     * Reads the P-256 signing keys of a JWK Set and skips every other key.
+     */
+    static Map<String, VerificationKey> parse(String jwks) {
+        Map<String, VerificationKey> keys = new HashMap<>();
+        if (!(Json.parseObject(jwks).get("keys") instanceof List<?> entries)) {
+            throw new IllegalArgumentException("JWK Set has no keys");
+        }
+        for (Object entry : entries) {
+            if (entry instanceof Map<?, ?> jwk
+                    && "EC".equals(jwk.get("kty"))
+                    && "P-256".equals(jwk.get("crv"))
+                    && !"enc".equals(jwk.get("use"))
+                    && jwk.get("kid") instanceof String keyId
+                    && jwk.get("x") instanceof String x
+                    && jwk.get("y") instanceof String y) {
+                keys.put(keyId, VerificationKey.es256(toPublicKey(x, y)));
+            }
+        }
+        return Map.copyOf(keys);
+    }
+
+    private static ECPublicKey toPublicKey(String x, String y) {
+        try {
+            AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+            parameters.init(new ECGenParameterSpec("secp256r1"));
+            ECPoint point = new ECPoint(
+                    new BigInteger(1, Base64.getUrlDecoder().decode(x)),
+                    new BigInteger(1, Base64.getUrlDecoder().decode(y)));
+            ECPublicKeySpec spec = new ECPublicKeySpec(point, parameters.getParameterSpec(ECParameterSpec.class));
+            return (ECPublicKey) KeyFactory.getInstance("EC").generatePublic(spec);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalArgumentException("Not a P-256 public key", e);
+        }
+    }
+}
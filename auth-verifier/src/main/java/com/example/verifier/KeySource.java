@@ -0,0 +1,47 @@
+package com.example.verifier;
+
+import java.util.Map;
+
+/**
+ * Finds the key that verifies a token from the {@code alg} and {@code kid} of its header.
+ * Implementations must be thread-safe and should answer from memory, since they are asked
+ * for every token that is not cached yet.
+ */
+@FunctionalInterface
+public interface KeySource {
+
+    /**
+     * @param keyId {@code kid} of the token, or {@code null} when the header has none
+     * @return the key, or {@code null} when this source has no key for the token
+     */
+    VerificationKey find(String algorithm, String keyId);
+
+    /**
+     * A shared HS256 secret, used for tokens without a {@code kid}.
+     */
+    static KeySource hmacSha256(byte[] secret) {
+        VerificationKey key = VerificationKey.hmacSha256(secret);
+        return (algorithm, keyId) -> keyId == null && key.algorithm().equals(algorithm) ? key : null;
+    }
+
+    /**
+     * Fixed keys by {@code kid}.
+     */
+    static KeySource of(Map<String, VerificationKey> keysById) {
+        Map<String, VerificationKey> keys = Map.copyOf(keysById);
+        return (algorithm, keyId) -> {
+            VerificationKey key = keyId == null ? null : keys.get(keyId);
+            return key != null && key.algorithm().equals(algorithm) ? key : null;
+        };
+    }
+
+    /**
+     * Asks {@code other} when this source has no key.
+     */
+    default KeySource or(KeySource other) {
+        return (algorithm, keyId) -> {
+            VerificationKey key = find(algorithm, keyId);
+            return key != null ? key : other.find(algorithm, keyId);
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.verifier;
+
+/**
+ * Thrown when a token is not acceptable. The message is meant for logs, the {@link Reason}
+ * for deciding what to do about it.
+ */
+public class TokenVerificationException extends RuntimeException {
+
+    public enum Reason {
+        /** Not three Base64url parts of JSON. */
+        MALFORMED,
+        /** Signed with an algorithm the verifier does not accept. */
+        UNSUPPORTED_ALGORITHM,
+        /** No key for the algorithm and key id of the token. */
+        UNKNOWN_KEY,
+        BAD_SIGNATURE,
+        EXPIRED,
+        NOT_YET_VALID
+    }
+
+    private final Reason reason;
+
+    public TokenVerificationException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public TokenVerificationException(Reason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
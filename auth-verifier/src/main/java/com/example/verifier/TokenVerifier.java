@@ -0,0 +1,159 @@
+package com.example.verifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Verifies compact JWS tokens: the signature against a key from the {@link KeySource}, then
+ * {@code exp} and {@code nbf}. Tokens without {@code exp} are never accepted. What verification
+ * produced is mapped once and kept in the {@link ClaimsCache} until the token expires.
+ * <p>
+ * Instances are immutable and thread-safe.
+ *
+ * <pre>{@code
+ * TokenVerifier<VerifiedToken> verifier = TokenVerifier.builder(JwksKeySource.start(jwksUri, Duration.ofMinutes(5)))
+ *         .build();
+ * String user = verifier.verify(token).subject();
+ * }</pre>
+ *
+ * @param <T> what verified tokens are mapped to
+ */
+public final class TokenVerifier<T> {
+
+    private static final Base64.Decoder BASE64_URL = Base64.getUrlDecoder();
+
+    private final KeySource keySource;
+    private final Clock clock;
+    private final Duration leeway;
+    private final Function<VerifiedToken, T> mapper;
+    private final ClaimsCache<T> cache;
+
+    private TokenVerifier(Builder builder, Function<VerifiedToken, T> mapper, ClaimsCache<T> cache) {
+        this.keySource = builder.keySource;
+        this.clock = builder.clock;
+        this.leeway = builder.leeway;
+        this.mapper = mapper;
+        this.cache = cache;
+    }
+
+    public static Builder builder(KeySource keySource) {
+        return new Builder(keySource);
+    }
+
+    /**
+     * @throws IllegalArgumentException   when the token is {@code null} or empty
+     * @throws TokenVerificationException when the token is not acceptable
+     */
+    public T verify(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("Token cannot be null or empty");
+        }
+        T cached = cache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        VerifiedToken verified = verifyUncached(token);
+        T claims = mapper.apply(verified);
+        cache.put(token, claims, verified.expiresAt());
+        return claims;
+    }
+
+    private VerifiedToken verifyUncached(String token) {
+        int headerEnd = token.indexOf('.');
+        int claimsEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+        if (claimsEnd < 0 || token.indexOf('.', claimsEnd + 1) >= 0) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, "Token must have three parts");
+        }
+
+        Map<String, Object> header = decodeJson(token, 0, headerEnd);
+        String algorithm = header.get("alg") instanceof String value ? value : null;
+        String keyId = header.get("kid") instanceof String value ? value : null;
+        if (!VerificationKey.HS256.equals(algorithm) && !VerificationKey.ES256.equals(algorithm)) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.UNSUPPORTED_ALGORITHM,
+                    "Algorithm " + algorithm + " is not supported");
+        }
+        VerificationKey key = keySource.find(algorithm, keyId);
+        if (key == null || !key.algorithm().equals(algorithm)) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.UNKNOWN_KEY,
+                    "No " + algorithm + " key with id " + keyId);
+        }
+        byte[] signingInput = token.substring(0, claimsEnd).getBytes(StandardCharsets.US_ASCII);
+        if (!key.verify(signingInput, decode(token, claimsEnd + 1, token.length()))) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.BAD_SIGNATURE, "Signature does not match");
+        }
+
+        Map<String, Object> claims = decodeJson(token, headerEnd + 1, claimsEnd);
+        Instant now = clock.instant();
+        if (!(claims.get("exp") instanceof Long expiresAtSeconds)) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, "Token has no exp");
+        }
+        Instant expiresAt = Instant.ofEpochSecond(expiresAtSeconds);
+        if (now.isAfter(expiresAt.plus(leeway))) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.EXPIRED, "Token expired at " + expiresAt);
+        }
+        if (claims.get("nbf") instanceof Long notBeforeSeconds && now.plus(leeway).isBefore(Instant.ofEpochSecond(notBeforeSeconds))) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.NOT_YET_VALID, "Token is not valid yet");
+        }
+        return new VerifiedToken(algorithm, keyId, claims, expiresAt);
+    }
+
+    private static Map<String, Object> decodeJson(String token, int start, int end) {
+        try {
+            return Json.parseObject(new String(decode(token, start, end), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, "Token part is not JSON", e);
+        }
+    }
+
+    private static byte[] decode(String token, int start, int end) {
+        try {
+            return BASE64_URL.decode(token.substring(start, end));
+        } catch (IllegalArgumentException e) {
+            throw new TokenVerificationException(TokenVerificationException.Reason.MALFORMED, "Token part is not Base64url", e);
+        }
+    }
+
+    public static final class Builder {
+
+        private final KeySource keySource;
+        private Clock clock = Clock.systemUTC();
+        private Duration leeway = Duration.ZERO;
+
+        private Builder(KeySource keySource) {
+            this.keySource = Objects.requireNonNull(keySource, "keySource");
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock, "clock");
+            return this;
+        }
+
+        /**
+         * Clock skew tolerated when checking {@code exp} and {@code nbf}, none by default.
+         */
+        public Builder leeway(Duration leeway) {
+            this.leeway = Objects.requireNonNull(leeway, "leeway");
+            return this;
+        }
+
+        /**
+         * A verifier that returns the verified tokens themselves and caches nothing.
+         */
+        public TokenVerifier<VerifiedToken> build() {
+            return build(Function.identity(), ClaimsCache.none());
+        }
+
+        /**
+         * @param mapper turns a verified token into what callers need, called once per token and cached
+         */
+        public <T> TokenVerifier<T> build(Function<VerifiedToken, T> mapper, ClaimsCache<T> cache) {
+            return new TokenVerifier<>(this, Objects.requireNonNull(mapper, "mapper"), Objects.requireNonNull(cache, "cache"));
+        }
+    }
+}
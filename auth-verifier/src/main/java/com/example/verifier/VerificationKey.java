@@ -0,0 +1,108 @@
+package com.example.verifier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.Signature;
+import java.security.SignatureException;
+import java.security.interfaces.ECPublicKey;
+
+/**
+ * A key that checks token signatures for exactly one JWS algorithm. {@link Mac} and {@link Signature}
+ * are not thread-safe, so each thread keeps its own initialized instance.
+ */
+public abstract class VerificationKey {
+
+    public static final String HS256 = "HS256";
+    public static final String ES256 = "ES256";
+
+    private final String algorithm;
+
+    private VerificationKey(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public static VerificationKey hmacSha256(byte[] secret) {
+        return new HmacSha256(secret);
+    }
+
+    public static VerificationKey es256(ECPublicKey publicKey) {
+        return new Es256(publicKey);
+    }
+
+    /**
+     * JWS {@code alg} this key verifies.
+     */
+    public String algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * @param signingInput ASCII bytes of {@code header.claims}
+     * @param signature    decoded JWS signature
+     */
+    abstract boolean verify(byte[] signingInput, byte[] signature);
+
+    private static final class HmacSha256 extends VerificationKey {
+
+        private final ThreadLocal<Mac> mac;
+
+        HmacSha256(byte[] secret) {
+            super(HS256);
+            SecretKeySpec key = new SecretKeySpec(secret.clone(), "HmacSHA256");
+            this.mac = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac instance = Mac.getInstance("HmacSHA256");
+                    instance.init(key);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("HmacSHA256 is not available", e);
+                }
+            });
+        }
+
+        @Override
+        boolean verify(byte[] signingInput, byte[] signature) {
+            return MessageDigest.isEqual(mac.get().doFinal(signingInput), signature);
+        }
+    }
+
+    /**
+     * JWS carries ECDSA signatures as fixed size {@code R || S}, which the P1363 variant of the JDK
+     * signature reads directly.
+     */
+    private static final class Es256 extends VerificationKey {
+
+        private static final int SIGNATURE_LENGTH = 64;
+
+        private final ThreadLocal<Signature> signature;
+
+        Es256(ECPublicKey publicKey) {
+            super(ES256);
+            this.signature = ThreadLocal.withInitial(() -> {
+                try {
+                    Signature instance = Signature.getInstance("SHA256withECDSAinP1363Format");
+                    instance.initVerify(publicKey);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("SHA256withECDSA is not available", e);
+                }
+            });
+        }
+
+        @Override
+        boolean verify(byte[] signingInput, byte[] signature) {
+            if (signature.length != SIGNATURE_LENGTH) {
+                return false;
+            }
+            Signature instance = this.signature.get();
+            try {
+                instance.update(signingInput);
+                return instance.verify(signature);
+            } catch (SignatureException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.verifier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Claims of a token whose signature and lifetime have been checked.
+ */
+public final class VerifiedToken {
+
+    private final String algorithm;
+    private final String keyId;
+    private final Map<String, Object> claims;
+    private final Instant expiresAt;
+
+    VerifiedToken(String algorithm, String keyId, Map<String, Object> claims, Instant expiresAt) {
+        this.algorithm = algorithm;
+        this.keyId = keyId;
+        this.claims = claims;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * JWS {@code alg} the token was signed with.
+     */
+    public String algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * {@code kid} of the signing key, or {@code null} for tokens signed with a shared secret.
+     */
+    public String keyId() {
+        return keyId;
+    }
+
+    public String subject() {
+        return stringClaim("sub");
+    }
+
+    /**
+     * {@code jti} of the token, or {@code null} when it has none.
+     */
+    public String tokenId() {
+        return stringClaim("jti");
+    }
+
+    public Instant expiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * {@code iat} of the token, or {@code null} when it has none.
+     */
+    public Instant issuedAt() {
+        Long issuedAt = longClaim("iat");
+        return issuedAt == null ? null : Instant.ofEpochSecond(issuedAt);
+    }
+
+    /**
+     * All claims, as read by the verifier: objects are maps, arrays lists and integral numbers {@link Long}.
+     */
+    public Map<String, Object> claims() {
+        return claims;
+    }
+
+    /**
+     * @return the claim, or {@code null} when it is absent or not a string
+     */
+    public String stringClaim(String name) {
+        return claims.get(name) instanceof String value ? value : null;
+    }
+
+    /**
+     * @return the claim, or {@code null} when it is absent or not an integral number
+     */
+    public Long longClaim(String name) {
+        return claims.get(name) instanceof Long value ? value : null;
+    }
+
+    /**
+     * @return the claim, or {@code null} when it is absent or not an array of strings
+     */
+    public List<String> stringListClaim(String name) {
+        if (!(claims.get(name) instanceof List<?> values)) {
+            return null;
+        }
+        for (Object value : values) {
+            if (!(value instanceof String)) {
+                return null;
+            }
+        }
+        @SuppressWarnings("unchecked")
+        List<String> strings = (List<String>) values;
+        return strings;
+    }
+
+    @Override
+    public String toString() {
+        return "VerifiedToken{alg=" + algorithm + ", kid=" + keyId + ", sub=" + subject() + ", exp=" + expiresAt + '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonTest {
+
+    @Test
+    void parseObject_AllValueTypes() {
+        Map<String, Object> object = Json.parseObject(
+                " {\"s\":\"a\\\"b\\\\c\\u00e9\\n\", \"i\":-42, \"d\":1.5e3, \"t\":true, \"f\":false, \"n\":null, \"a\":[1,\"x\",{}], \"o\":{\"k\":[]}} ");
+
+        assertEquals("a\"b\\c\u00e9\n", object.get("s"));
+        assertEquals(-42L, object.get("i"));
+        assertEquals(1500.0, object.get("d"));
+        assertEquals(Boolean.TRUE, object.get("t"));
+        assertEquals(Boolean.FALSE, object.get("f"));
+        assertTrue(object.containsKey("n"));
+        assertNull(object.get("n"));
+        assertEquals(List.of(1L, "x", Map.of()), object.get("a"));
+        assertEquals(Map.of("k", List.of()), object.get("o"));
+    }
+
+    @Test
+    void parseObject_Failure_InvalidJson() {
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("[]"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":1"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":1} x"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":tru}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{\"a\":\"\\x\"}"));
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject("{a:1}"));
+    }
+
+    @Test
+    void parseObject_Failure_TooDeep() {
+        String deep = "{\"a\":" + "[".repeat(100) + "]".repeat(100) + "}";
+
+        assertThrows(IllegalArgumentException.class, () -> Json.parseObject(deep));
+    }
+}
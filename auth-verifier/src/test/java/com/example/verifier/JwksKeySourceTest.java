@@ -0,0 +1,105 @@
+package com.example.verifier;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwksKeySourceTest {
+
+    private HttpServer server;
+    private final AtomicReference<String> jwks = new AtomicReference<>("{\"keys\":[]}");
+    private final AtomicInteger requests = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/.well-known/jwks.json", exchange -> {
+            requests.incrementAndGet();
+            byte[] body = jwks.get().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void verify_TokenSignedWithPublishedKey() throws Exception {
+        KeyPair keyPair = TestTokens.p256();
+        jwks.set("{\"keys\":[" + jwk("key-1", keyPair) + ",{\"kty\":\"RSA\",\"kid\":\"rsa\",\"n\":\"AQAB\",\"e\":\"AQAB\"}]}");
+
+        try (JwksKeySource keySource = JwksKeySource.start(uri(), Duration.ofMinutes(5))) {
+            TokenVerifier<VerifiedToken> verifier = TokenVerifier.builder(keySource).build();
+            String token = TestTokens.es256(keyPair, "key-1", "{\"sub\":\"user\",\"exp\":" + (System.currentTimeMillis() / 1000 + 60) + "}");
+
+            assertEquals(1, keySource.size());
+            assertEquals("user", verifier.verify(token).subject());
+        }
+    }
+
+    @Test
+    void find_UnknownKeyTriggersRefresh() throws Exception {
+        KeyPair keyPair = TestTokens.p256();
+        try (JwksKeySource keySource = JwksKeySource.start(uri(), Duration.ofMinutes(5), Duration.ofMillis(50))) {
+            jwks.set("{\"keys\":[" + jwk("key-2", keyPair) + "]}");
+            Thread.sleep(100);
+
+            assertNull(keySource.find("ES256", "key-2"));
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (keySource.size() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+
+            assertNotNull(keySource.find("ES256", "key-2"));
+            assertNull(keySource.find("HS256", "key-2"));
+            assertEquals(2, requests.get());
+        }
+    }
+
+    @Test
+    void start_KeepsWorkingWhenUnreachable() {
+        server.stop(0);
+
+        try (JwksKeySource keySource = JwksKeySource.start(uri(), Duration.ofMinutes(5))) {
+            assertEquals(0, keySource.size());
+            assertNull(keySource.find("ES256", "key-1"));
+        }
+    }
+
+    private URI uri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/.well-known/jwks.json");
+    }
+
+    private static String jwk(String keyId, KeyPair keyPair) {
+        ECPublicKey key = (ECPublicKey) keyPair.getPublic();
+        return "{\"kty\":\"EC\",\"crv\":\"P-256\",\"use\":\"sig\",\"alg\":\"ES256\",\"kid\":\"" + keyId
+                + "\",\"x\":\"" + coordinate(key.getW().getAffineX()) + "\",\"y\":\"" + coordinate(key.getW().getAffineY()) + "\"}";
+    }
+
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] coordinate = new byte[32];
+        int length = Math.min(bytes.length, 32);
+        System.arraycopy(bytes, bytes.length - length, coordinate, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(coordinate);
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.verifier;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.interfaces.ECPublicKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenVerifierTest {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+    private static final Clock CLOCK = Clock.fixed(NOW, ZoneOffset.UTC);
+    private static final long EXP = NOW.getEpochSecond() + 600;
+
+    private final TokenVerifier<VerifiedToken> verifier = TokenVerifier.builder(KeySource.hmacSha256(SECRET)).clock(CLOCK).build();
+
+    @Test
+    void verify_Hs256Token() throws Exception {
+        String token = TestTokens.hs256(SECRET, "{\"sub\":\"user@example.com\",\"roles\":[\"ROLE_USER\"],\"rm\":1,\"jti\":\"abc\",\"exp\":" + EXP + "}");
+
+        VerifiedToken verified = verifier.verify(token);
+
+        assertEquals("user@example.com", verified.subject());
+        assertEquals(List.of("ROLE_USER"), verified.stringListClaim("roles"));
+        assertEquals(1L, verified.longClaim("rm"));
+        assertEquals("abc", verified.tokenId());
+        assertEquals(Instant.ofEpochSecond(EXP), verified.expiresAt());
+        assertNull(verified.keyId());
+    }
+
+    @Test
+    void verify_Es256TokenByKeyId() throws Exception {
+        KeyPair keyPair = TestTokens.p256();
+        KeySource keySource = KeySource.hmacSha256(SECRET)
+                .or(KeySource.of(Map.of("key-1", VerificationKey.es256((ECPublicKey) keyPair.getPublic()))));
+        TokenVerifier<VerifiedToken> es256Verifier = TokenVerifier.builder(keySource).clock(CLOCK).build();
+
+        VerifiedToken verified = es256Verifier.verify(TestTokens.es256(keyPair, "key-1", "{\"sub\":\"user\",\"exp\":" + EXP + "}"));
+
+        assertEquals("user", verified.subject());
+        assertEquals("key-1", verified.keyId());
+        assertEquals("ES256", verified.algorithm());
+        assertFailsWith(TokenVerificationException.Reason.UNKNOWN_KEY, es256Verifier,
+                TestTokens.es256(keyPair, "key-2", "{\"sub\":\"user\",\"exp\":" + EXP + "}"));
+    }
+
+    @Test
+    void verify_Failure_BadSignature() throws Exception {
+        String token = TestTokens.hs256("another secret".getBytes(StandardCharsets.US_ASCII), "{\"sub\":\"user\",\"exp\":" + EXP + "}");
+
+        assertFailsWith(TokenVerificationException.Reason.BAD_SIGNATURE, verifier, token);
+    }
+
+    @Test
+    void verify_Failure_TamperedClaims() throws Exception {
+        String token = TestTokens.hs256(SECRET, "{\"sub\":\"user\",\"exp\":" + EXP + "}");
+        String[] parts = token.split("\\.");
+        String tampered = parts[0] + "." + TestTokens.encode("{\"sub\":\"admin\",\"exp\":" + EXP + "}") + "." + parts[2];
+
+        assertFailsWith(TokenVerificationException.Reason.BAD_SIGNATURE, verifier, tampered);
+    }
+
+    @Test
+    void verify_Failure_Expired() throws Exception {
+        String token = TestTokens.hs256(SECRET, "{\"sub\":\"user\",\"exp\":" + (NOW.getEpochSecond() - 1) + "}");
+
+        assertFailsWith(TokenVerificationException.Reason.EXPIRED, verifier, token);
+        TokenVerifier<VerifiedToken> lenient = TokenVerifier.builder(KeySource.hmacSha256(SECRET))
+                .clock(CLOCK).leeway(Duration.ofSeconds(5)).build();
+        assertEquals("user", lenient.verify(token).subject());
+    }
+
+    @Test
+    void verify_Failure_NotYetValid() throws Exception {
+        String token = TestTokens.hs256(SECRET, "{\"sub\":\"user\",\"nbf\":" + (NOW.getEpochSecond() + 60) + ",\"exp\":" + EXP + "}");
+
+        assertFailsWith(TokenVerificationException.Reason.NOT_YET_VALID, verifier, token);
+    }
+
+    @Test
+    void verify_Failure_NoExpiry() throws Exception {
+        assertFailsWith(TokenVerificationException.Reason.MALFORMED, verifier, TestTokens.hs256(SECRET, "{\"sub\":\"user\"}"));
+    }
+
+    @Test
+    void verify_Failure_UnsignedToken() {
+        String token = TestTokens.encode("{\"alg\":\"none\"}") + "." + TestTokens.encode("{\"sub\":\"user\",\"exp\":" + EXP + "}") + ".";
+
+        assertFailsWith(TokenVerificationException.Reason.UNSUPPORTED_ALGORITHM, verifier, token);
+    }
+
+    @Test
+    void verify_Failure_Malformed() {
+        assertFailsWith(TokenVerificationException.Reason.MALFORMED, verifier, "invalidToken");
+        assertFailsWith(TokenVerificationException.Reason.MALFORMED, verifier, "a.b.c.d");
+        assertFailsWith(TokenVerificationException.Reason.MALFORMED, verifier, "!!.e30.e30");
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(null));
+        assertThrows(IllegalArgumentException.class, () -> verifier.verify(""));
+    }
+
+    @Test
+    void verify_MappedOnceAndCached() throws Exception {
+        AtomicInteger mapped = new AtomicInteger();
+        ConcurrentClaimsCache<String> cache = new ConcurrentClaimsCache<>(10, CLOCK);
+        TokenVerifier<String> cachingVerifier = TokenVerifier.builder(KeySource.hmacSha256(SECRET)).clock(CLOCK)
+                .build(token -> {
+                    mapped.incrementAndGet();
+                    return token.subject();
+                }, cache);
+        String token = TestTokens.hs256(SECRET, "{\"sub\":\"user\",\"exp\":" + EXP + "}");
+
+        assertEquals("user", cachingVerifier.verify(token));
+        assertEquals("user", cachingVerifier.verify(token));
+
+        assertEquals(1, mapped.get());
+        assertEquals(1, cache.size());
+    }
+
+    private static void assertFailsWith(TokenVerificationException.Reason reason, TokenVerifier<?> verifier, String token) {
+        TokenVerificationException e = assertThrows(TokenVerificationException.class, () -> verifier.verify(token));
+        assertEquals(reason, e.getReason());
+    }
+}
@@ -1,17 +0,0 @@
-package com.example.repository;
-
-import com.example.entity.User;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.repository.CrudRepository;
-import org.springframework.stereotype.Repository;
-
-import java.util.Optional;
-
-@Repository
-public interface UserRepository extends CrudRepository<User, Long> {
-
-    Optional<User> findByEmail(String email);
-
-    Page<User> findAll(Pageable pageable);
-}
@@ -1,80 +0,0 @@
-package com.example.utils;
-
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import lombok.RequiredArgsConstructor;
-import lombok.Setter;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.stereotype.Component;
-
-import java.time.Duration;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
-
-@Component
-@Setter
-@RequiredArgsConstructor
-public class JwtTokenUtils {
-
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.refresh}")
-    private String secretKeyForRefresh;
-
-    @Value("${jwt.lifetime}")
-    private Duration jwtLifetime;
-
-    @Value("${jwt.refreshLifetime}")
-    private Duration jwtRefreshLifetime;
-
-    public String generateToken(UserDetails userDetails) {
-        return generateToken(secretKey, userDetails, jwtLifetime);
-    }
-
-    public String generateRefreshToken(UserDetails userDetails) {
-        return generateToken(secretKeyForRefresh, userDetails, jwtRefreshLifetime);
-    }
-
-    private String generateToken(String secret, UserDetails userDetails, Duration tokenLifetime) {
-        Map<String, Object> claims = new HashMap<>();
-        List<String> roleList = userDetails.getAuthorities()
-                .stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
-        claims.put("roles", roleList);
-
-        Date issuedDate = new Date();
-        Date expiredDate = new Date(issuedDate.getTime() + tokenLifetime.toMillis());
-
-        return Jwts.builder()
-                .setClaims(claims)
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(issuedDate)
-                .setExpiration(expiredDate)
-                .signWith(SignatureAlgorithm.HS256, secret)
-                .compact();
-    }
-
-    public String getUsername(String token) {
-        return getAllClaimsFromToken(token).getSubject();
-    }
-
-    public List<String> getRoles(String token) {
-        return getAllClaimsFromToken(token).get("roles", List.class);
-    }
-
-    private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .setSigningKey(secretKey)
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-}
\ No newline at end of file